@@ -0,0 +1,112 @@
+package io.github.ivrnv.github.scoring;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ * <p>
+ * Search responses are built from a complete GitHub REST search item, so decoding pays for all fields GitHub
+ * sends and not only for the ones the application reads. Stars fall off with the position in the page, as they
+ * do in a search sorted by stars.
+ */
+public final class BenchmarkData {
+
+    /**
+     * Clock of every benchmark, so recency factors do not drift between runs.
+     */
+    public static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private static final OffsetDateTime NOW = OffsetDateTime.now(CLOCK);
+    private static final String ITEM_TEMPLATE = readTemplate("/github/search_item.json");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @return JSON body of a search response holding the given number of items
+     */
+    public static byte[] searchResponseJson(int items) {
+        StringBuilder json = new StringBuilder(items * ITEM_TEMPLATE.length() + 64)
+                .append("{\"total_count\":").append(items * 100L)
+                .append(",\"incomplete_results\":false,\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(ITEM_TEMPLATE
+                    .replace("${id}", Integer.toString(i + 1))
+                    .replace("${owner}", owner(i))
+                    .replace("${name}", name(i))
+                    .replace("${stars}", Integer.toString(stars(i)))
+                    .replace("${forks}", Integer.toString(forks(i)))
+                    .replace("${updated}", updatedAt(i).toString())
+                    .replace("${created}", createdAt(i).toString()));
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return decoded repositories with the same values as {@link #searchResponseJson(int)}
+     */
+    public static List<GitHubApiRepo> repositories(int count) {
+        List<GitHubApiRepo> repositories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String owner = owner(i);
+            repositories.add(new GitHubApiRepo(
+                    name(i),
+                    new GitHubApiRepo.Owner(owner, "https://github.com/" + owner),
+                    "https://github.com/" + owner + "/" + name(i),
+                    stars(i),
+                    forks(i),
+                    updatedAt(i),
+                    createdAt(i)));
+        }
+        return repositories;
+    }
+
+    private static String owner(int i) {
+        return "owner-" + (i % 17);
+    }
+
+    private static String name(int i) {
+        return "repository-" + i;
+    }
+
+    private static int stars(int i) {
+        return 250_000 / (i + 1);
+    }
+
+    private static int forks(int i) {
+        return stars(i) / 8 + i;
+    }
+
+    private static OffsetDateTime updatedAt(int i) {
+        return NOW.minusHours(i * 97L % 12_000);
+    }
+
+    private static OffsetDateTime createdAt(int i) {
+        return OffsetDateTime.parse("2024-01-01T00:00:00Z").plusHours(i * 31L);
+    }
+
+    private static String readTemplate(String resource) {
+        try (InputStream in = BenchmarkData.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark resource " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.ivrnv.github.scoring.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.ivrnv.github.scoring.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a GitHub search response of the default (30) and maximum (100) page size, with the streaming
+ * {@link GitHubSearchResponseReader} the client uses and with Jackson data binding as the reference.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResponseDecodingBenchmark {
+
+    @Param({"30", "100"})
+    private int items;
+
+    private byte[] body;
+    private GitHubSearchResponseReader reader;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        body = BenchmarkData.searchResponseJson(items);
+        reader = new GitHubSearchResponseReader();
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Benchmark
+    public GitHubApiResponse streamingReader() throws IOException {
+        return reader.read(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public GitHubApiResponse dataBinding() throws IOException {
+        return objectMapper.readValue(body, GitHubApiResponse.class);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.ivrnv.github.scoring.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ivrnv.github.scoring.BenchmarkData;
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.model.Page;
+import io.github.ivrnv.github.scoring.model.ScoredRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a {@code Page<ScoredRepository>} response body with an object mapper configured the way Spring Boot
+ * configures the one of the controller.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"30", "100"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private Page<ScoredRepository> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ScoredRepository> content = BenchmarkData.repositories(items).stream()
+                .map(PageSerializationBenchmark::scored)
+                .toList();
+        page = Page.of(content, 1, items, items * 100L, 1000);
+    }
+
+    private static ScoredRepository scored(GitHubApiRepo repo) {
+        return new ScoredRepository(repo.name(), repo.owner().login(), repo.url(), repo.stars(), repo.forks(),
+                repo.updatedAt(), Math.log10(repo.stars() + 1.0), 50.0);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.ivrnv.github.scoring.model;
+
+import io.github.ivrnv.github.scoring.BenchmarkData;
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating repository data by constructing a {@link GitHubRepository}, which reads the wall clock,
+ * against validating the raw values against a clock snapshot as the service does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GitHubRepositoryBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private int[] stars;
+    private int[] forks;
+    private OffsetDateTime[] updatedAt;
+    private long now;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<GitHubApiRepo> page = BenchmarkData.repositories(INPUTS);
+        stars = new int[INPUTS];
+        forks = new int[INPUTS];
+        updatedAt = new OffsetDateTime[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            stars[i] = page.get(i).stars();
+            forks[i] = page.get(i).forks();
+            updatedAt[i] = page.get(i).updatedAt();
+        }
+        now = BenchmarkData.CLOCK.instant().getEpochSecond();
+    }
+
+    private int next() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public GitHubRepository construct() {
+        int i = next();
+        return new GitHubRepository(stars[i], forks[i], updatedAt[i]);
+    }
+
+    @Benchmark
+    public void validateAgainstSnapshot(Blackhole blackhole) {
+        int i = next();
+        GitHubRepository.validate(stars[i], forks[i], updatedAt[i], now);
+        blackhole.consume(i);
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.ivrnv.github.scoring.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ivrnv.github.scoring.BenchmarkData;
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+import io.github.ivrnv.github.scoring.index.RepositoryIndex;
+import io.github.ivrnv.github.scoring.metrics.LanguageTags;
+import io.github.ivrnv.github.scoring.metrics.RequestMetrics;
+import io.github.ivrnv.github.scoring.model.Page;
+import io.github.ivrnv.github.scoring.model.ScoredRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request path of {@code /api/v1/repositories/scored} after the raw page is cached: query normalisation,
+ * coalescing, the page cache lookup, scoring and ranking each repository, and optionally writing the response body.
+ * GitHub is never called; the page is loaded into the cache once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryScoreServiceBenchmark {
+
+    private static final String LANGUAGE = "java";
+    private static final LocalDate CREATED_AFTER = LocalDate.parse("2024-01-01");
+
+    @Param({"30", "100"})
+    private int items;
+
+    private RepositoryPageCache pageCache;
+    private RepositoryScoreService service;
+    private PageRequest pageRequest;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        ScoreCalculator scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365, BenchmarkData.CLOCK);
+        // Long TTL and an unreachable hot threshold: the cached page is never refreshed from GitHub
+        pageCache = new RepositoryPageCache(64 * 1024 * 1024, TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toMillis(1),
+                0, Integer.MAX_VALUE, 1.0, 1, 1, DiskPageStore.disabled());
+        ScoreDistributions scoreDistributions = new ScoreDistributions(
+                scoreCalculator, new LanguageTags(List.of(), List.of()), 1, 3_600_000);
+        service = new RepositoryScoreService(null, null, scoreCalculator, pageCache,
+                new QueryAccessLog("", 100, 3_600_000), new RepositoryIndex(), scoreDistributions,
+                RequestMetrics.unbound(), 256, 15_000, 600_000, 1);
+        pageRequest = new PageRequest(1, items);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        GitHubApiResponse response = new GitHubApiResponse(items * 100L, false, BenchmarkData.repositories(items));
+        scoreDistributions.record(LANGUAGE, LANGUAGE, response.repositories());
+        pageCache.get(RepositoryQuery.of(LANGUAGE, CREATED_AFTER, pageRequest), query -> response);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pageCache.close();
+    }
+
+    @Benchmark
+    public Page<ScoredRepository> scoreCachedPage() {
+        return service.getScoredRepositories(LANGUAGE, CREATED_AFTER, pageRequest);
+    }
+
+    @Benchmark
+    public byte[] scoreAndWriteCachedPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(service.getScoredRepositories(LANGUAGE, CREATED_AFTER, pageRequest));
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.BenchmarkData;
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.model.GitHubRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring a single repository, through the record API, the primitive API used per page and a
+ * kernel compiled for custom weights. Inputs rotate through a page of 1024 repositories so the JIT
+ * cannot fold the scores into constants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreCalculatorBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private ScoreCalculator scoreCalculator;
+    private ScoringKernel customKernel;
+    private GitHubRepository[] repositories;
+    private int[] stars;
+    private int[] forks;
+    private long[] updatedAt;
+    private long now;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365, BenchmarkData.CLOCK);
+        customKernel = scoreCalculator.kernel(new ScoringWeights(0.2, 0.2, 0.6, 90));
+        now = scoreCalculator.nowEpochSecond();
+
+        List<GitHubApiRepo> page = BenchmarkData.repositories(INPUTS);
+        repositories = new GitHubRepository[INPUTS];
+        stars = new int[INPUTS];
+        forks = new int[INPUTS];
+        updatedAt = new long[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            GitHubApiRepo repo = page.get(i);
+            repositories[i] = new GitHubRepository(repo.stars(), repo.forks(), repo.updatedAt());
+            stars[i] = repo.stars();
+            forks[i] = repo.forks();
+            updatedAt[i] = repo.updatedAt().toEpochSecond();
+        }
+    }
+
+    private int next() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public double calculateScoreFromRecord() {
+        return scoreCalculator.calculateScore(repositories[next()]);
+    }
+
+    @Benchmark
+    public double calculateScoreFromPrimitives() {
+        int i = next();
+        return scoreCalculator.calculateScore(stars[i], forks[i], updatedAt[i], now);
+    }
+
+    @Benchmark
+    public double calculateScoreWithCustomKernel() {
+        int i = next();
+        return customKernel.score(stars[i], forks[i], updatedAt[i], now);
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.ivrnv.github.scoring.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.QueryParameter;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * WireMock stand-in for the GitHub search API.
+ * <p>
+ * Every search call gets a deterministic page of repositories for its query, delayed by the configured latency
+ * distribution. A configurable share of calls fails with 502, and calls are counted against a rate-limit window
+ * whose state is reported in the {@code X-RateLimit-*} headers; once it is used up calls fail with 403 until the
+ * window resets. Delays are served asynchronously, so slow responses do not tie up server threads. The request
+ * journal is disabled; calls are only counted.
+ */
+final class GitHubStandIn implements ResponseDefinitionTransformerV2 {
+
+    private static final int TOTAL_COUNT = 50_000;
+    // Update times lie between 200 and 33 days ago, so none is in the future
+    private static final OffsetDateTime EPOCH =
+            OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).minusDays(200);
+
+    private final LoadTestSettings settings;
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final WireMockServer server;
+    private long windowReset;
+    private int remaining;
+
+    GitHubStandIn(LoadTestSettings settings) {
+        this.settings = settings;
+        this.server = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .containerThreads(64)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(64)
+                .disableRequestJournal()
+                .extensions(this));
+    }
+
+    void start() {
+        server.start();
+        server.stubFor(get(urlPathEqualTo("/search/repositories")).willReturn(aResponse()));
+    }
+
+    void stop() {
+        server.stop();
+    }
+
+    String baseUrl() {
+        return server.baseUrl();
+    }
+
+    Counts counts() {
+        return new Counts(calls.sum(), errors.sum(), rateLimited.sum());
+    }
+
+    @Override
+    public String getName() {
+        return "github-stand-in";
+    }
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        calls.increment();
+        Request request = serveEvent.getRequest();
+        long now = Instant.now().getEpochSecond();
+        long reset;
+        int left;
+        synchronized (this) {
+            if (now >= windowReset) {
+                windowReset = now + settings.rateLimitWindow().toSeconds();
+                remaining = settings.rateLimit();
+            }
+            left = remaining > 0 ? --remaining : -1;
+            reset = windowReset;
+        }
+
+        ResponseDefinitionBuilder response = ResponseDefinitionBuilder.responseDefinition()
+                .withHeader("Content-Type", "application/json")
+                .withHeader("X-RateLimit-Limit", Integer.toString(settings.rateLimit()))
+                .withHeader("X-RateLimit-Remaining", Integer.toString(Math.max(left, 0)))
+                .withHeader("X-RateLimit-Reset", Long.toString(reset))
+                .withHeader("X-RateLimit-Resource", "search")
+                .withRandomDelay(settings.latency());
+        if (left < 0) {
+            rateLimited.increment();
+            return response.withStatus(403)
+                    .withBody("{\"message\":\"API rate limit exceeded\"}")
+                    .build();
+        }
+        if (ThreadLocalRandom.current().nextDouble() < settings.errorRate()) {
+            errors.increment();
+            return response.withStatus(502)
+                    .withBody("{\"message\":\"Server Error\"}")
+                    .build();
+        }
+
+        String query = parameter(request, "q", "");
+        int page = Integer.parseInt(parameter(request, "page", "1"));
+        int perPage = Integer.parseInt(parameter(request, "per_page", "30"));
+        byte[] body = bodies.computeIfAbsent(query + '|' + page + '|' + perPage,
+                key -> searchResponse(query, page, perPage));
+        return response.withStatus(200).withBody(body).build();
+    }
+
+    private static String parameter(Request request, String name, String defaultValue) {
+        QueryParameter parameter = request.queryParameter(name);
+        return parameter.isPresent() ? parameter.firstValue() : defaultValue;
+    }
+
+    /**
+     * Builds a page of the search results of a query. Stars fall with the position in the results, as in a
+     * search sorted by stars, and vary per query so different languages score differently.
+     */
+    private static byte[] searchResponse(String query, int page, int perPage) {
+        int seed = query.hashCode() & 0x7fff;
+        StringBuilder json = new StringBuilder(perPage * 700)
+                .append("{\"total_count\":").append(TOTAL_COUNT)
+                .append(",\"incomplete_results\":false,\"items\":[");
+        for (int i = 0; i < perPage; i++) {
+            int position = (page - 1) * perPage + i;
+            if (position >= TOTAL_COUNT) {
+                break;
+            }
+            int stars = (500_000 + seed) / (position + 1);
+            String owner = "owner-" + (position + seed) % 997;
+            String name = "repository-" + position;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(position + 1)
+                    .append(",\"name\":\"").append(name)
+                    .append("\",\"full_name\":\"").append(owner).append('/').append(name)
+                    .append("\",\"private\":false,\"owner\":{\"login\":\"").append(owner)
+                    .append("\",\"id\":").append(position % 997 + 1)
+                    .append(",\"html_url\":\"https://github.com/").append(owner)
+                    .append("\",\"type\":\"User\",\"site_admin\":false}")
+                    .append(",\"html_url\":\"https://github.com/").append(owner).append('/').append(name)
+                    .append("\",\"description\":\"Simulated repository for load testing\",\"fork\":false")
+                    .append(",\"url\":\"https://api.github.com/repos/").append(owner).append('/').append(name)
+                    .append("\",\"created_at\":\"").append(EPOCH.minusDays(position % 365 + 1))
+                    .append("\",\"updated_at\":\"").append(EPOCH.plusHours(position * 7L % 4000))
+                    .append("\",\"stargazers_count\":").append(stars)
+                    .append(",\"watchers_count\":").append(stars)
+                    .append(",\"forks_count\":").append(stars / 8 + position % 13)
+                    .append(",\"language\":\"Java\",\"open_issues_count\":").append(position % 50)
+                    .append(",\"topics\":[\"load-test\",\"simulated\"],\"default_branch\":\"main\",\"score\":1.0}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Search calls received, and how many of them failed with 502 or were rate limited.
+     */
+    record Counts(long calls, long errors, long rateLimited) {
+
+        Counts minus(Counts other) {
+            return new Counts(calls - other.calls, errors - other.errors, rateLimited - other.rateLimited);
+        }
+    }
+}
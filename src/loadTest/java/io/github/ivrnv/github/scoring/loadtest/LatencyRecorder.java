@@ -0,0 +1,44 @@
+package io.github.ivrnv.github.scoring.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records response latencies of one run into a preallocated array and reports exact percentiles.
+ * Latencies beyond the capacity are counted but not kept.
+ */
+final class LatencyRecorder {
+
+    private final long[] latencies;
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.latencies = new long[capacity];
+    }
+
+    void record(long latencyNanos) {
+        int index = recorded.getAndIncrement();
+        if (index < latencies.length) {
+            latencies[index] = latencyNanos;
+        }
+    }
+
+    int count() {
+        return recorded.get();
+    }
+
+    /**
+     * @return latencies in nanoseconds at the given quantiles, in the same order
+     */
+    long[] quantiles(double... quantiles) {
+        long[] sorted = Arrays.copyOf(latencies, Math.min(recorded.get(), latencies.length));
+        Arrays.sort(sorted);
+        long[] values = new long[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            values[i] = sorted.length == 0
+                    ? 0
+                    : sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantiles[i] * sorted.length) - 1)];
+        }
+        return values;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.ivrnv.github.scoring.loadtest;
+
+import io.github.ivrnv.github.scoring.GithubScoringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Locale;
+
+/**
+ * Offline load test: boots the application against a {@link GitHubStandIn}, offers open-model load with the
+ * {@link OpenModelDriver} and prints throughput, latency percentiles and the GitHub calls the load caused.
+ * <p>
+ * Run with {@code ./gradlew loadTest}. {@code loadtest.*} properties configure the run, see
+ * {@link LoadTestSettings}; any {@code github.*} property overrides the application configuration.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        GitHubStandIn gitHub = new GitHubStandIn(settings);
+        gitHub.start();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(GithubScoringApplication.class)
+                .properties(
+                        "server.port=0",
+                        // The exact key GitHubClient reads its base URL from
+                        "github.api.baseUrl=" + gitHub.baseUrl(),
+                        "github.api.backend=rest",
+                        "github.api.tokens=",
+                        "github.warmup.enabled=false",
+                        "github.warmup.access-log.file=",
+                        "github.index.enabled=false",
+                        "github.cache.disk.enabled=false")
+                .run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            OpenModelDriver driver = new OpenModelDriver("http://localhost:" + port, settings);
+
+            System.out.printf("Warming up for %ds at %d requests/s%n", settings.warmup().toSeconds(), settings.rps());
+            driver.run(settings.warmup());
+
+            System.out.printf("Measuring for %ds at %d requests/s%n", settings.duration().toSeconds(), settings.rps());
+            GitHubStandIn.Counts before = gitHub.counts();
+            OpenModelDriver.Result result = driver.run(settings.duration());
+            report(settings, result, gitHub.counts().minus(before));
+        } finally {
+            gitHub.stop();
+        }
+    }
+
+    private static void report(LoadTestSettings settings, OpenModelDriver.Result result,
+                               GitHubStandIn.Counts upstream) {
+        long[] latency = result.latencyNanos();
+        StringBuilder report = new StringBuilder()
+                .append("\n=== Load test ===\n")
+                .append(String.format(Locale.ROOT, "Target rate      %d requests/s for %ds%n",
+                        settings.rps(), settings.duration().toSeconds()))
+                .append(String.format(Locale.ROOT, "Throughput       %.1f responses/s%n", result.throughput()))
+                .append(String.format(Locale.ROOT, "Requests         %d sent, %d dropped, %d answered, %d failed,"
+                                + " %d non-200, %d empty pages, %d outstanding%n",
+                        result.sent(), result.dropped(), result.completed(), result.failed(),
+                        result.unsuccessful(), result.empty(), result.outstanding()))
+                .append(String.format(Locale.ROOT, "Latency (ms)     p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                        latency[0] / 1e6, latency[1] / 1e6, latency[2] / 1e6, latency[3] / 1e6, latency[4] / 1e6))
+                .append(String.format(Locale.ROOT, "GitHub calls     %d (%.3f per request), %d errors, %d rate limited%n",
+                        upstream.calls(), result.sent() > 0 ? (double) upstream.calls() / result.sent() : 0,
+                        upstream.errors(), upstream.rateLimited()));
+        System.out.println(report);
+    }
+}
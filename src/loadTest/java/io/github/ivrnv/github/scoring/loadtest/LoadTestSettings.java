@@ -0,0 +1,82 @@
+package io.github.ivrnv.github.scoring.loadtest;
+
+import com.github.tomakehurst.wiremock.http.DelayDistribution;
+import com.github.tomakehurst.wiremock.http.FixedDelayDistribution;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.github.tomakehurst.wiremock.http.UniformDistribution;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param rps             target request arrival rate per second
+ * @param duration        measured part of the run
+ * @param warmup          run before measuring, whose results are discarded
+ * @param maxInFlight     requests that may be outstanding; arrivals beyond are dropped and reported
+ * @param languages       languages queried, picked uniformly
+ * @param pages           pages queried per language, picked with probability falling as 1/page
+ * @param distinctDates   creation dates queried per language, starting at {@code createdAfter}
+ * @param createdAfter    earliest creation date queried
+ * @param pageSize        page size of every request
+ * @param latency         latency of the simulated GitHub
+ * @param errorRate       share of GitHub calls answered with 502
+ * @param rateLimit       search calls GitHub allows per rate-limit window
+ * @param rateLimitWindow length of the rate-limit window
+ */
+record LoadTestSettings(
+        int rps,
+        Duration duration,
+        Duration warmup,
+        int maxInFlight,
+        List<String> languages,
+        int pages,
+        int distinctDates,
+        LocalDate createdAfter,
+        int pageSize,
+        DelayDistribution latency,
+        double errorRate,
+        int rateLimit,
+        Duration rateLimitWindow) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rps", 100),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                Integer.getInteger("loadtest.max-in-flight", 10_000),
+                Arrays.stream(System.getProperty("loadtest.languages", "java,kotlin,python,go,rust").split(","))
+                        .map(String::trim)
+                        .filter(language -> !language.isEmpty())
+                        .toList(),
+                Integer.getInteger("loadtest.pages", 10),
+                Integer.getInteger("loadtest.distinct-dates", 30),
+                LocalDate.parse(System.getProperty("loadtest.created-after", "2024-01-01")),
+                Integer.getInteger("loadtest.page-size", 30),
+                parseLatency(System.getProperty("loadtest.github.latency", "lognormal:150:0.5")),
+                Double.parseDouble(System.getProperty("loadtest.github.error-rate", "0")),
+                Integer.getInteger("loadtest.github.rate-limit", 5000),
+                Duration.ofSeconds(Long.getLong("loadtest.github.rate-limit-window", 60)));
+    }
+
+    /**
+     * Parses a latency distribution: {@code fixed:<ms>}, {@code uniform:<min ms>:<max ms>}
+     * or {@code lognormal:<median ms>:<sigma>}.
+     */
+    static DelayDistribution parseLatency(String spec) {
+        String[] parts = spec.trim().split(":");
+        try {
+            return switch (parts[0]) {
+                case "fixed" -> new FixedDelayDistribution(Integer.parseInt(parts[1]));
+                case "uniform" -> new UniformDistribution(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                case "lognormal" -> new LogNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid latency distribution: " + spec, e);
+        }
+    }
+}
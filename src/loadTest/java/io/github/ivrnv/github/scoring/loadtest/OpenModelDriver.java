@@ -0,0 +1,144 @@
+package io.github.ivrnv.github.scoring.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code /api/v1/repositories/scored} with an open workload model.
+ * <p>
+ * Requests arrive as a Poisson process at the target rate, independent of how fast earlier requests complete,
+ * as requests from many independent clients do. Latency is measured from the scheduled arrival rather than from
+ * the actual send, so a stalled driver or application shows up in the latencies instead of silently lowering the
+ * load (coordinated omission). Queries are spread over languages, creation dates and pages, with low pages
+ * requested more often.
+ */
+final class OpenModelDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999, 1.0};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final double[] pageWeights;
+
+    OpenModelDriver(String baseUrl, LoadTestSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        // Cumulative 1/page weights
+        this.pageWeights = new double[settings.pages()];
+        double sum = 0;
+        for (int page = 1; page <= settings.pages(); page++) {
+            sum += 1.0 / page;
+            pageWeights[page - 1] = sum;
+        }
+    }
+
+    /**
+     * Offers load for the given duration, then waits for outstanding requests.
+     *
+     * @return what the run measured
+     */
+    Result run(Duration duration) throws InterruptedException {
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, settings.rps() * duration.toSeconds() * 2 + 1024);
+        LatencyRecorder recorder = new LatencyRecorder(capacity);
+        AtomicInteger inFlight = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+        LongAdder unsuccessful = new LongAdder();
+        LongAdder empty = new LongAdder();
+        long sent = 0;
+        long dropped = 0;
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduled = next;
+            next += interArrivalNanos();
+            if (inFlight.incrementAndGet() > settings.maxInFlight()) {
+                inFlight.decrementAndGet();
+                dropped++;
+                continue;
+            }
+            sent++;
+            httpClient.sendAsync(nextRequest(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long latency = System.nanoTime() - scheduled;
+                        if (error != null) {
+                            failed.increment();
+                        } else {
+                            recorder.record(latency);
+                            if (response.statusCode() != 200) {
+                                unsuccessful.increment();
+                            } else if (response.body().contains("\"content\":[]")) {
+                                // The service answers with an empty page when GitHub fails
+                                empty.increment();
+                            }
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new Result(sent, dropped, recorder.count(), failed.sum(), unsuccessful.sum(), empty.sum(),
+                inFlight.get(), elapsedSeconds, recorder.quantiles(QUANTILES));
+    }
+
+    private long interArrivalNanos() {
+        // Exponentially distributed gaps make the arrivals a Poisson process
+        double u = ThreadLocalRandom.current().nextDouble();
+        return (long) (-Math.log(1 - u) / settings.rps() * 1e9);
+    }
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String language = settings.languages().get(random.nextInt(settings.languages().size()));
+        String createdAfter = settings.createdAfter().plusDays(random.nextInt(settings.distinctDates())).toString();
+        int page = Arrays.binarySearch(pageWeights, random.nextDouble(pageWeights[pageWeights.length - 1]));
+        page = (page < 0 ? -page - 1 : page) + 1;
+        URI uri = URI.create(baseUrl + "/api/v1/repositories/scored?language=" + language
+                + "&created_after=" + createdAfter + "&page=" + page + "&size=" + settings.pageSize());
+        return HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    /**
+     * Outcome of a run.
+     *
+     * @param sent           requests sent
+     * @param dropped        arrivals not sent because too many requests were outstanding
+     * @param completed      requests answered
+     * @param failed         requests that timed out or failed on the transport
+     * @param unsuccessful   requests answered with a status other than 200
+     * @param empty          requests answered with an empty page, which the service returns when GitHub fails
+     * @param outstanding    requests still unanswered when the run ended
+     * @param elapsedSeconds time from the first arrival until the last response or the drain timeout
+     * @param latencyNanos   p50, p90, p99, p99.9 and maximum latency of the answered requests
+     */
+    record Result(long sent, long dropped, long completed, long failed, long unsuccessful, long empty,
+                  long outstanding, double elapsedSeconds, long[] latencyNanos) {
+
+        double throughput() {
+            return completed / elapsedSeconds;
+        }
+    }
+}
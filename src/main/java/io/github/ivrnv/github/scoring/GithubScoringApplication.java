@@ -2,12 +2,22 @@ package io.github.ivrnv.github.scoring;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
 
 @SpringBootApplication
+@EnableScheduling
 public class GithubScoringApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(GithubScoringApplication.class, args);
 	}
 
+	@Bean
+	public Clock clock() {
+		return Clock.systemUTC();
+	}
+
 }
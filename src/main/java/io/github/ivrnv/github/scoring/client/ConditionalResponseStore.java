@@ -0,0 +1,110 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded store of conditional-request validators (ETag / Last-Modified) together with the last
+ * decoded search response for each (query, page, per_page) combination.
+ * <p>
+ * When GitHub answers a conditional request with 304 Not Modified the stored response is served
+ * instead of re-downloading the page. Least recently used entries are evicted once the store is full.
+ */
+@Component
+public class ConditionalResponseStore implements MeterBinder {
+
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ConditionalResponseStore(
+            @Value("${github.api.conditional-requests.max-entries:500}") int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Looks up stored validators for the given key and records a hit or a miss.
+     *
+     * @param key search query with pagination
+     * @return stored entry or null if the page has not been seen yet
+     */
+    synchronized Entry lookup(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the response together with its validators.
+     * Responses without ETag and Last-Modified headers cannot be revalidated and are not kept.
+     */
+    synchronized void store(Key key, HttpHeaders headers, GitHubApiResponse response) {
+        String etag = headers.getETag();
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (etag == null && lastModified == null) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry(etag, lastModified, response));
+    }
+
+    void recordNotModified() {
+        notModified.increment();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        String name = "github.client.conditional.requests";
+        FunctionCounter.builder(name, hits, LongAdder::doubleValue)
+                .tag("result", "hit")
+                .description("Search requests sent with stored validators")
+                .register(registry);
+        FunctionCounter.builder(name, notModified, LongAdder::doubleValue)
+                .tag("result", "not_modified")
+                .description("Search requests answered with 304 Not Modified and served from the store")
+                .register(registry);
+        FunctionCounter.builder(name, misses, LongAdder::doubleValue)
+                .tag("result", "miss")
+                .description("Search requests without stored validators")
+                .register(registry);
+        Gauge.builder("github.client.conditional.entries", this, ConditionalResponseStore::size)
+                .description("Number of responses held for revalidation")
+                .register(registry);
+    }
+
+    /**
+     * Identifies a single search results page.
+     */
+    record Key(String query, int page, int perPage) {}
+
+    /**
+     * Validators and decoded body of the last successful response for a key.
+     */
+    record Entry(String etag, String lastModified, GitHubApiResponse response) {}
+}
@@ -0,0 +1,22 @@
+package io.github.ivrnv.github.scoring.client;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositories found by a {@link RepositoryCrawler} and how much of the crawled window they cover.
+ *
+ * @param repositories  de-duplicated repositories, newest creation date window first
+ * @param totalCount    repositories GitHub reported for the whole window
+ * @param truncated     whether repositories of the window were left out, because of {@code github.crawler.max-results}
+ *                      or because more than the search cap were created on a single day
+ * @param completedFrom earliest creation date from which every repository up to the end of the window was crawled,
+ *                      or null if no date was crawled completely
+ */
+public record CrawlResult(
+        List<GitHubApiRepo> repositories,
+        long totalCount,
+        boolean truncated,
+        LocalDate completedFrom
+) {
+}
@@ -0,0 +1,25 @@
+package io.github.ivrnv.github.scoring.client;
+
+/**
+ * 64-bit FNV-1a hash, used for compact identities of queries and repositories.
+ */
+public final class Fnv1a {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fnv1a() {
+    }
+
+    /**
+     * @return 64-bit FNV-1a hash of the UTF-16 code units of the text
+     */
+    public static long hash(CharSequence text) {
+        long hash = OFFSET_BASIS;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= PRIME;
+        }
+        return hash;
+    }
+}
@@ -14,7 +14,8 @@ public record GitHubApiRepo(
         @JsonProperty("html_url") String url,
         @JsonProperty("stargazers_count") int stars,
         @JsonProperty("forks_count") int forks,
-        @JsonProperty("updated_at") OffsetDateTime updatedAt
+        @JsonProperty("updated_at") OffsetDateTime updatedAt,
+        @JsonProperty("created_at") OffsetDateTime createdAt
 ) {
     /**
      * Owner details from GitHub API response.
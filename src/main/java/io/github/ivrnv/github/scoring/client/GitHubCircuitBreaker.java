@@ -0,0 +1,222 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker around GitHub calls.
+ * <p>
+ * Outcomes of the last {@code window-size} calls are kept in a ring buffer. Once at least {@code minimum-calls}
+ * are recorded and either the failure rate or the slow-call rate reaches its threshold, the breaker opens and
+ * calls fail fast with 503 instead of tying up request threads. After {@code open-duration} a few trial calls
+ * are let through; if they all succeed in time the breaker closes again, otherwise it re-opens.
+ * <p>
+ * Server errors, transport errors and timeouts count as failures. Client errors and rate-limit rejections
+ * describe the request or the budget rather than GitHub's health and are recorded as successes. Time spent
+ * waiting for a rate-limit slot is measured by an {@link UpstreamTimer} and does not make a call slow.
+ */
+@Component
+public class GitHubCircuitBreaker implements MeterBinder {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubCircuitBreaker.class);
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallDurationMillis;
+    private final int slowCallRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+
+    private final byte[] outcomes;
+    private int position;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtMillis;
+    private int trialCallsStarted;
+    private int trialCallsSucceeded;
+    private final LongAdder rejected = new LongAdder();
+
+    public GitHubCircuitBreaker(
+            @Value("${github.api.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${github.api.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${github.api.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${github.api.circuit-breaker.slow-call-duration:5000}") long slowCallDurationMillis,
+            @Value("${github.api.circuit-breaker.slow-call-rate-threshold:80}") int slowCallRateThreshold,
+            @Value("${github.api.circuit-breaker.open-duration:30000}") long openDurationMillis,
+            @Value("${github.api.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Minimum calls must be between 1 and the window size");
+        }
+        if (halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("Half-open calls must be greater than 0");
+        }
+        this.outcomes = new byte[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDurationMillis = slowCallDurationMillis;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Runs a GitHub call through the breaker.
+     *
+     * @param call the call
+     * @return the call's result
+     * @throws GitHubApiException with status 503 if the breaker is open, or the call's own exception
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!tryAcquire(System.currentTimeMillis())) {
+            rejected.increment();
+            throw new GitHubApiException("GitHub API circuit breaker is open", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        UpstreamTimer timer = new UpstreamTimer(UpstreamTimer.current(), false);
+        try {
+            T result = timer.run(call);
+            onResult(timer.elapsedMillis(), false, System.currentTimeMillis());
+            return result;
+        } catch (GitHubApiException e) {
+            onResult(timer.elapsedMillis(), isFailure(e.getStatusCode()), System.currentTimeMillis());
+            throw e;
+        } catch (RuntimeException e) {
+            onResult(timer.elapsedMillis(), true, System.currentTimeMillis());
+            throw e;
+        }
+    }
+
+    synchronized boolean tryAcquire(long nowMillis) {
+        if (state == State.OPEN) {
+            if (nowMillis - openedAtMillis < openDurationMillis) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN, nowMillis);
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialCallsStarted >= halfOpenCalls) {
+                return false;
+            }
+            trialCallsStarted++;
+        }
+        return true;
+    }
+
+    synchronized void onResult(long durationMillis, boolean failed, long nowMillis) {
+        boolean slow = durationMillis >= slowCallDurationMillis;
+        switch (state) {
+            case OPEN -> {
+                // Call started before the breaker opened
+            }
+            case HALF_OPEN -> {
+                if (failed || slow) {
+                    transitionTo(State.OPEN, nowMillis);
+                } else if (++trialCallsSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED, nowMillis);
+                }
+            }
+            case CLOSED -> {
+                record((byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0)));
+                if (recorded >= minimumCalls
+                        && (failureRate() >= failureRateThreshold || slowCallRate() >= slowCallRateThreshold)) {
+                    transitionTo(State.OPEN, nowMillis);
+                }
+            }
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * @return percentage of failed calls in the window, or 0 if nothing is recorded
+     */
+    synchronized double failureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+
+    /**
+     * @return percentage of slow calls in the window, or 0 if nothing is recorded
+     */
+    synchronized double slowCallRate() {
+        return recorded == 0 ? 0 : slowCalls * 100.0 / recorded;
+    }
+
+    synchronized int bufferedCalls() {
+        return recorded;
+    }
+
+    private void record(byte outcome) {
+        if (recorded == outcomes.length) {
+            byte evicted = outcomes[position];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = outcome;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+        position = (position + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State newState, long nowMillis) {
+        logger.warn("GitHub API circuit breaker {} -> {} (failure rate: {}%, slow call rate: {}%)",
+                state, newState, failureRate(), slowCallRate());
+        state = newState;
+        trialCallsStarted = 0;
+        trialCallsSucceeded = 0;
+        if (newState == State.OPEN) {
+            openedAtMillis = nowMillis;
+        } else if (newState == State.CLOSED) {
+            position = 0;
+            recorded = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    private static boolean isFailure(HttpStatusCode statusCode) {
+        return statusCode == null || statusCode.is5xxServerError();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (State candidate : State.values()) {
+            Gauge.builder("github.client.circuit.state", this, breaker -> breaker.state() == candidate ? 1 : 0)
+                    .tag("state", candidate.name().toLowerCase())
+                    .description("1 for the current state of the GitHub API circuit breaker, 0 otherwise")
+                    .register(registry);
+        }
+        Gauge.builder("github.client.circuit.failure.rate", this, GitHubCircuitBreaker::failureRate)
+                .description("Percentage of failed calls in the circuit breaker window")
+                .baseUnit("percent")
+                .register(registry);
+        Gauge.builder("github.client.circuit.slow.rate", this, GitHubCircuitBreaker::slowCallRate)
+                .description("Percentage of slow calls in the circuit breaker window")
+                .baseUnit("percent")
+                .register(registry);
+        FunctionCounter.builder("github.client.circuit.rejected", rejected, LongAdder::doubleValue)
+                .description("Calls rejected while the circuit breaker was open")
+                .register(registry);
+    }
+}
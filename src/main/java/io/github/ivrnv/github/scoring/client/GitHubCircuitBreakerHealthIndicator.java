@@ -0,0 +1,30 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the state of the {@link GitHubCircuitBreaker}.
+ * An open breaker means GitHub is failing, not this service, so the status stays UP and
+ * the breaker state is reported as a detail.
+ */
+@Component
+public class GitHubCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final GitHubCircuitBreaker circuitBreaker;
+
+    public GitHubCircuitBreakerHealthIndicator(GitHubCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("state", circuitBreaker.state().name())
+                .withDetail("failureRate", circuitBreaker.failureRate())
+                .withDetail("slowCallRate", circuitBreaker.slowCallRate())
+                .withDetail("bufferedCalls", circuitBreaker.bufferedCalls())
+                .build();
+    }
+}
@@ -1,57 +1,113 @@
 package io.github.ivrnv.github.scoring.client;
 
 import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.metrics.RequestMetrics;
+import io.github.ivrnv.github.scoring.profiling.GitHubFetchEvent;
+import io.github.ivrnv.github.scoring.profiling.SearchDecodeEvent;
 import io.github.ivrnv.github.scoring.service.PageRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
  * Client for interacting with GitHub's REST API.
+ * With {@code github.api.backend=graphql} repository search goes through the GraphQL API instead.
  */
 @Component
 public class GitHubClient {
+    /**
+     * GitHub search only returns the first 1000 results of any query, regardless of its total count.
+     */
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
     private static final Logger logger = LoggerFactory.getLogger(GitHubClient.class);
     private static final String SEARCH_REPOS_ENDPOINT = "/search/repositories";
+    private static final String GRAPHQL_ENDPOINT = "/graphql";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final GitHubSearchResponseReader RESPONSE_READER = new GitHubSearchResponseReader();
     
     private final RestClient restClient;
+    private final ConditionalResponseStore conditionalResponseStore;
+    private final GitHubCircuitBreaker circuitBreaker;
+    private final RequestHedger requestHedger;
+    private final int maxConcurrency;
+    private final RequestMetrics requestMetrics;
+    /**
+     * Search backend used instead of the REST search endpoint, or null for REST.
+     */
+    private final GitHubGraphQlSearch graphQlSearch;
     
     public GitHubClient(
             @Value("${github.api.baseUrl:https://api.github.com}") String baseUrl,
-            @Value("${github.api.timeout.connect:5000}") int connectTimeout,
-            @Value("${github.api.timeout.read:10000}") int readTimeout) {
+            ClientHttpRequestFactory gitHubRequestFactory,
+            @Value("${github.api.max-concurrency:4}") int maxConcurrency,
+            @Value("${github.api.backend:rest}") String backend,
+            ConditionalResponseStore conditionalResponseStore,
+            RateLimitGovernor rateLimitGovernor,
+            GitHubCircuitBreaker circuitBreaker,
+            RequestHedger requestHedger,
+            GitHubTraffic gitHubTraffic,
+            RequestMetrics requestMetrics) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+        if (!"rest".equalsIgnoreCase(backend) && !"graphql".equalsIgnoreCase(backend)) {
+            throw new IllegalArgumentException("Backend must be either 'rest' or 'graphql'");
+        }
         
-        logger.info("Initializing GitHub client with baseUrl: {}, connectTimeout: {}ms, readTimeout: {}ms", 
-                baseUrl, connectTimeout, readTimeout);
-        var factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setConnectTimeout(connectTimeout);
-        factory.setReadTimeout(readTimeout);
+        logger.info("Initializing GitHub client with baseUrl: {}, transport: {}, backend: {}", 
+                baseUrl, gitHubRequestFactory.getClass().getSimpleName(), backend);
 
-        this.restClient = RestClient.builder()
+        RestClient.Builder restClientBuilder = RestClient.builder()
                 .baseUrl(baseUrl)
                 .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
-                .requestFactory(factory )
-                .build();
+                .requestFactory(gitHubRequestFactory)
+                .requestInterceptor(rateLimitGovernor);
+        if (gitHubTraffic.isActive()) {
+            // Innermost, so recorded durations cover the exchange with GitHub but not rate-limit pacing
+            restClientBuilder.requestInterceptor(gitHubTraffic);
+        }
+        this.restClient = restClientBuilder.build();
+        this.conditionalResponseStore = conditionalResponseStore;
+        this.circuitBreaker = circuitBreaker;
+        this.requestHedger = requestHedger;
+        this.maxConcurrency = maxConcurrency;
+        this.requestMetrics = requestMetrics;
+        this.graphQlSearch = "graphql".equalsIgnoreCase(backend)
+                ? new GitHubGraphQlSearch(restClient, GRAPHQL_ENDPOINT)
+                : null;
     }
     
     /**
      * Fetches repositories from GitHub.
+     * With the REST backend, pages that were fetched before are requested conditionally and served from
+     * the {@link ConditionalResponseStore} when GitHub reports them as not modified.
+     * Calls are hedged by the {@link RequestHedger} and fail fast while the {@link GitHubCircuitBreaker} is open.
      *
      * @param language The programming language to filter repositories by (must not be null or empty)
      * @param createdAfter The date after which repositories should have been created (must not be null)
@@ -61,44 +117,130 @@ public class GitHubClient {
      * @throws GitHubApiException if there's an error communicating with the GitHub API
      */
     public GitHubApiResponse fetchRepositories(String language, LocalDate createdAfter, PageRequest pageable) {
-        if (language == null || language.isBlank()) {
-            throw new IllegalArgumentException("Language must not be null or empty");
-        }
-        if (createdAfter == null) {
-            throw new IllegalArgumentException("Created after date must not be null");
-        }
-        if (pageable.size() <= 0) {
-            throw new IllegalArgumentException("Size must be greater than 0");
-        }
-        if (pageable.size() > 100) {
-            throw new IllegalArgumentException("Size must not exceed 100");
+        return fetchRepositories(language, createdAfter, null, pageable);
+    }
+
+    /**
+     * Fetches repositories created within a date window from GitHub.
+     *
+     * @param language The programming language to filter repositories by (must not be null or empty)
+     * @param createdFrom The first creation date of the window, inclusive (must not be null)
+     * @param createdTo The last creation date of the window, inclusive, or null for an open-ended window
+     * @param pageable Pagination information (page must be > 0, size must be between 1 and 100)
+     * @return GitHubApiResponse containing repositories and pagination metadata
+     * @throws IllegalArgumentException if any of the parameters don't meet the validation requirements
+     * @throws GitHubApiException if there's an error communicating with the GitHub API
+     */
+    public GitHubApiResponse fetchRepositories(String language, LocalDate createdFrom, LocalDate createdTo,
+                                               PageRequest pageable) {
+        validate(language, createdFrom, pageable);
+        if (createdTo != null && createdTo.isBefore(createdFrom)) {
+            throw new IllegalArgumentException("Created to date must not be before created from date");
         }
-        if (pageable.page() <= 0) {
-            throw new IllegalArgumentException("Page must be greater than 0");
+
+        String query = buildQuery(language, createdFrom, createdTo);
+        long start = System.nanoTime();
+        try {
+            GitHubApiResponse response = circuitBreaker.execute(() -> requestHedger.execute(
+                    () -> search(language, query, "stars", pageable)));
+            requestMetrics.recordFetch(language, HttpStatus.OK, System.nanoTime() - start);
+            return response;
+        } catch (GitHubApiException e) {
+            requestMetrics.recordFetch(language, e.getStatusCode(), System.nanoTime() - start);
+            throw e;
         }
+    }
 
+    /**
+     * Fetches the highest fork count among repositories matching the criteria,
+     * as the first result of a search sorted by forks.
+     *
+     * @param language The programming language to filter repositories by (must not be null or empty)
+     * @param createdAfter The date after which repositories should have been created (must not be null)
+     * @return the highest fork count, or 0 if no repository matches
+     * @throws GitHubApiException if there's an error communicating with the GitHub API
+     */
+    public int fetchMaxForks(String language, LocalDate createdAfter) {
+        PageRequest first = new PageRequest(1, 1);
+        validate(language, createdAfter, first);
+
+        String query = buildQuery(language, createdAfter, null);
+        GitHubApiResponse response = circuitBreaker.execute(() -> requestHedger.execute(
+                () -> search(language, query, "forks", first)));
+        return response.repositories().isEmpty() ? 0 : response.repositories().getFirst().forks();
+    }
+
+    private GitHubApiResponse search(String language, String query, String sort, PageRequest pageable) {
+        // Star-sorted pages keep their original key so stored responses stay valid
+        String keyQuery = "stars".equals(sort) ? query : query + " sort:" + sort;
+        GitHubFetchEvent fetchEvent = new GitHubFetchEvent();
+        fetchEvent.begin();
         try {
-            String query = buildQuery(language, createdAfter);
+            logger.debug("Fetching repositories with query: {}, sort: {}, page: {}, size: {}", 
+                    query, sort, pageable.page(), pageable.size());
+
+            if (graphQlSearch != null) {
+                GitHubApiResponse result = graphQlSearch.search(query, sort, pageable);
+                requestMetrics.recordPage(language, -1, result.repositories().size());
+                fetchEvent.status = HttpStatus.OK.value();
+                fetchEvent.items = result.repositories().size();
+                logger.debug("Retrieved {} repositories via GraphQL (total count: {})",
+                        result.repositories().size(), result.totalCount());
+                return result;
+            }
             
-            logger.debug("Fetching repositories with query: {}, page: {}, size: {}", 
-                    query, pageable.page(), pageable.size());
+            var key = new ConditionalResponseStore.Key(keyQuery, pageable.page(), pageable.size());
+            ConditionalResponseStore.Entry stored = conditionalResponseStore.lookup(key);
             
             GitHubApiResponse result = restClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path(SEARCH_REPOS_ENDPOINT)
                             .queryParam("q", query)
-                            .queryParam("sort", "stars")
+                            .queryParam("sort", sort)
                             .queryParam("order", "desc")
                             .queryParam("page", pageable.page())
                             .queryParam("per_page", pageable.size())
                             .build())
-                    .retrieve()
-                    .onStatus(HttpStatusCode::isError, (request, response) -> {
-                        String errorBody = getErrorBody(response);
-                        logger.error("GitHub API error: {} - {}", response.getStatusCode(), errorBody);
-                        throw new GitHubApiException(errorBody, response.getStatusCode());
+                    .headers(headers -> {
+                        if (stored != null && stored.etag() != null) {
+                            headers.setIfNoneMatch(stored.etag());
+                        }
+                        if (stored != null && stored.lastModified() != null) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, stored.lastModified());
+                        }
                     })
-                    .body(GitHubApiResponse.class);
+                    .exchange((request, response) -> {
+                        fetchEvent.status = response.getStatusCode().value();
+                        if (stored != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            logger.debug("Search page not modified, serving stored response for query: {}", query);
+                            conditionalResponseStore.recordNotModified();
+                            fetchEvent.items = stored.response().repositories().size();
+                            return stored.response();
+                        }
+                        if (response.getStatusCode().isError()) {
+                            String errorBody = getErrorBody(response);
+                            logger.error("GitHub API error: {} - {}", response.getStatusCode(), errorBody);
+                            throw new GitHubApiException(errorBody, response.getStatusCode());
+                        }
+                        CountingInputStream stream = new CountingInputStream(response.getBody());
+                        SearchDecodeEvent decodeEvent = new SearchDecodeEvent();
+                        decodeEvent.begin();
+                        GitHubApiResponse body = RESPONSE_READER.read(stream);
+                        decodeEvent.end();
+                        fetchEvent.bytes = stream.count();
+                        fetchEvent.items = body != null ? body.repositories().size() : 0;
+                        if (decodeEvent.shouldCommit()) {
+                            decodeEvent.query = keyQuery;
+                            decodeEvent.items = fetchEvent.items;
+                            decodeEvent.bytes = fetchEvent.bytes;
+                            decodeEvent.commit();
+                        }
+                        if (body != null) {
+                            requestMetrics.recordPage(language, stream.count(), body.repositories().size());
+                            conditionalResponseStore.store(key, response.getHeaders(), body);
+                        }
+                        return body;
+                    });
             
             logger.debug("Retrieved {} repositories (total count: {})", 
                     result != null ? result.repositories().size() : 0,
@@ -108,8 +250,104 @@ public class GitHubClient {
         } catch (GitHubApiException e) {
             throw e;
         } catch (Exception e) {
-            logger.error("Error fetching repositories from GitHub", e);
+            if (Thread.currentThread().isInterrupted()) {
+                // Losing attempt of a hedged call
+                logger.debug("GitHub request interrupted", e);
+            } else {
+                logger.error("Error fetching repositories from GitHub", e);
+            }
             throw new GitHubApiException("Error fetching repositories from GitHub", e);
+        } finally {
+            if (fetchEvent.shouldCommit()) {
+                fetchEvent.query = keyQuery;
+                fetchEvent.page = pageable.page();
+                fetchEvent.size = pageable.size();
+                fetchEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Fetches a contiguous range of result pages concurrently on virtual threads.
+     * At most {@code github.api.max-concurrency} pages are requested at the same time;
+     * results are merged in page order.
+     *
+     * @param language The programming language to filter repositories by (must not be null or empty)
+     * @param createdAfter The date after which repositories should have been created (must not be null)
+     * @param fromPage First page to fetch (must be > 0)
+     * @param toPage Last page to fetch, inclusive (must not be lower than fromPage)
+     * @param size Page size (must be between 1 and 100)
+     * @return GitHubApiResponse containing repositories of all pages and pagination metadata
+     * @throws IllegalArgumentException if any of the parameters don't meet the validation requirements
+     * @throws GitHubApiException if fetching any of the pages fails
+     */
+    public GitHubApiResponse fetchRepositoryRange(String language, LocalDate createdAfter,
+                                                  int fromPage, int toPage, int size) {
+        validate(language, createdAfter, new PageRequest(fromPage, size));
+        if (toPage < fromPage) {
+            throw new IllegalArgumentException("Last page must not be lower than first page");
+        }
+        if (fromPage == toPage) {
+            return fetchRepositories(language, createdAfter, new PageRequest(fromPage, size));
+        }
+
+        logger.debug("Fetching pages {}-{} concurrently (max concurrency: {})", fromPage, toPage, maxConcurrency);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<GitHubApiResponse>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int page = fromPage; page <= toPage; page++) {
+                PageRequest pageable = new PageRequest(page, size);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetchRepositories(language, createdAfter, pageable);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            long totalCount = 0;
+            boolean incompleteResults = false;
+            List<GitHubApiRepo> repositories = new ArrayList<>((toPage - fromPage + 1) * size);
+            try {
+                for (Future<GitHubApiResponse> future : futures) {
+                    GitHubApiResponse response = future.get();
+                    totalCount = Math.max(totalCount, response.totalCount());
+                    incompleteResults |= response.incompleteResults();
+                    repositories.addAll(response.repositories());
+                }
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new GitHubApiException("Error fetching repositories from GitHub", e.getCause());
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new GitHubApiException("Interrupted while fetching repositories from GitHub", e);
+            }
+            return new GitHubApiResponse(totalCount, incompleteResults, repositories);
+        }
+    }
+
+    private void validate(String language, LocalDate createdAfter, PageRequest pageable) {
+        if (language == null || language.isBlank()) {
+            throw new IllegalArgumentException("Language must not be null or empty");
+        }
+        if (createdAfter == null) {
+            throw new IllegalArgumentException("Created after date must not be null");
+        }
+        if (pageable.size() <= 0) {
+            throw new IllegalArgumentException("Size must be greater than 0");
+        }
+        if (pageable.size() > 100) {
+            throw new IllegalArgumentException("Size must not exceed 100");
+        }
+        if (pageable.page() <= 0) {
+            throw new IllegalArgumentException("Page must be greater than 0");
         }
     }
 
@@ -124,9 +362,56 @@ public class GitHubClient {
         return errorBody;
     }
 
-    private String buildQuery(String language, LocalDate createdAfter) {
-        return String.format("language:%s created:>=%s", 
-                language, 
-                createdAfter.format(DATE_FORMATTER));
+    private String buildQuery(String language, LocalDate createdFrom, LocalDate createdTo) {
+        if (createdTo == null) {
+            return String.format("language:%s created:>=%s", 
+                    language, 
+                    createdFrom.format(DATE_FORMATTER));
+        }
+        return String.format("language:%s created:%s..%s",
+                language,
+                createdFrom.format(DATE_FORMATTER),
+                createdTo.format(DATE_FORMATTER));
+    }
+
+    /**
+     * Counts the bytes read from a response body.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
     }
 }
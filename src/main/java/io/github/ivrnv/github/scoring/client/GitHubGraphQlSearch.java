@@ -0,0 +1,203 @@
+package io.github.ivrnv.github.scoring.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.service.PageRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Repository search backend using the GitHub GraphQL v4 API.
+ * <p>
+ * Only the fields of {@link GitHubApiRepo} are selected, which shrinks payloads compared to REST search items,
+ * and the rate-limit cost of every query is fixed by its {@code first} argument. GraphQL search is paged with
+ * cursors rather than page numbers: to reach page N the search is walked in batches of 100 that select nothing
+ * but the end cursor, and cursors at page boundaries are remembered per query so sequential paging never walks twice.
+ */
+class GitHubGraphQlSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubGraphQlSearch.class);
+    private static final int MAX_BATCH = 100;
+    private static final int MAX_CURSOR_QUERIES = 256;
+
+    private static final String SEARCH_QUERY = """
+            query($q: String!, $first: Int!, $after: String) {
+              rateLimit { cost remaining }
+              search(query: $q, type: REPOSITORY, first: $first, after: $after) {
+                repositoryCount
+                pageInfo { endCursor }
+                nodes {
+                  ... on Repository {
+                    name
+                    url
+                    stargazerCount
+                    forkCount
+                    updatedAt
+                    createdAt
+                    owner { login url }
+                  }
+                }
+              }
+            }
+            """;
+
+    private static final String SKIP_QUERY = """
+            query($q: String!, $first: Int!, $after: String) {
+              search(query: $q, type: REPOSITORY, first: $first, after: $after) {
+                pageInfo { endCursor hasNextPage }
+              }
+            }
+            """;
+
+    private final RestClient restClient;
+    private final String path;
+    /**
+     * Known cursors per search query, keyed by the number of results that precede them.
+     */
+    private final Map<String, NavigableMap<Integer, String>> cursors =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, NavigableMap<Integer, String>> eldest) {
+                    return size() > MAX_CURSOR_QUERIES;
+                }
+            };
+
+    GitHubGraphQlSearch(RestClient restClient, String path) {
+        this.restClient = restClient;
+        this.path = path;
+    }
+
+    /**
+     * Searches repositories in descending order of the given field.
+     *
+     * @param query    search qualifiers, as used by the REST search API
+     * @param sort     field to sort by, {@code stars} or {@code forks}
+     * @param pageable page to fetch
+     * @return the requested page
+     * @throws GitHubApiException if GitHub rejects the query
+     */
+    GitHubApiResponse search(String query, String sort, PageRequest pageable) {
+        String searchQuery = query + " sort:" + sort + "-desc";
+        int offset = (pageable.page() - 1) * pageable.size();
+        String after = cursorAt(searchQuery, offset);
+        if (offset > 0 && after == null) {
+            // Walked past the last result
+            return new GitHubApiResponse(0, false, List.of());
+        }
+
+        JsonNode search = execute(SEARCH_QUERY, searchQuery, pageable.size(), after);
+        rememberCursor(searchQuery, offset + pageable.size(), search.path("pageInfo").path("endCursor"));
+
+        List<GitHubApiRepo> repositories = new ArrayList<>();
+        for (JsonNode node : search.path("nodes")) {
+            if (node.hasNonNull("name")) {
+                repositories.add(toRepository(node));
+            }
+        }
+        return new GitHubApiResponse(search.path("repositoryCount").asLong(), false, repositories);
+    }
+
+    /**
+     * Returns the cursor preceding the result at the given offset, walking forward from the closest known one.
+     */
+    private String cursorAt(String searchQuery, int offset) {
+        if (offset == 0) {
+            return null;
+        }
+        Map.Entry<Integer, String> known;
+        synchronized (cursors) {
+            known = cursors.computeIfAbsent(searchQuery, q -> new TreeMap<>()).floorEntry(offset);
+        }
+        int position = known != null ? known.getKey() : 0;
+        String cursor = known != null ? known.getValue() : null;
+
+        while (position < offset) {
+            int batch = Math.min(MAX_BATCH, offset - position);
+            JsonNode pageInfo = execute(SKIP_QUERY, searchQuery, batch, cursor).path("pageInfo");
+            JsonNode endCursor = pageInfo.path("endCursor");
+            if (!endCursor.isTextual() || (!pageInfo.path("hasNextPage").asBoolean() && position + batch < offset)) {
+                return null;
+            }
+            position += batch;
+            cursor = endCursor.asText();
+            rememberCursor(searchQuery, position, endCursor);
+        }
+        return cursor;
+    }
+
+    private void rememberCursor(String searchQuery, int position, JsonNode cursor) {
+        if (cursor.isTextual()) {
+            synchronized (cursors) {
+                cursors.computeIfAbsent(searchQuery, q -> new TreeMap<>()).put(position, cursor.asText());
+            }
+        }
+    }
+
+    private JsonNode execute(String document, String searchQuery, int first, String after) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("q", searchQuery);
+        variables.put("first", first);
+        variables.put("after", after);
+
+        JsonNode response = restClient.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("query", document, "variables", variables))
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, (request, errorResponse) -> {
+                    String errorBody = new String(errorResponse.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                    logger.error("GitHub GraphQL API error: {} - {}", errorResponse.getStatusCode(), errorBody);
+                    throw new GitHubApiException(errorBody, errorResponse.getStatusCode());
+                })
+                .body(JsonNode.class);
+
+        if (response == null) {
+            throw new GitHubApiException("Empty response from GitHub GraphQL API", HttpStatus.BAD_GATEWAY);
+        }
+        JsonNode errors = response.path("errors");
+        if (errors.isArray() && !errors.isEmpty()) {
+            JsonNode error = errors.get(0);
+            HttpStatus status = "RATE_LIMITED".equals(error.path("type").asText())
+                    ? HttpStatus.TOO_MANY_REQUESTS
+                    : HttpStatus.BAD_GATEWAY;
+            throw new GitHubApiException(error.path("message").asText("GitHub GraphQL query failed"), status);
+        }
+
+        JsonNode rateLimit = response.path("data").path("rateLimit");
+        if (!rateLimit.isMissingNode()) {
+            logger.debug("GraphQL search cost: {}, remaining: {}",
+                    rateLimit.path("cost").asInt(), rateLimit.path("remaining").asInt());
+        }
+        return response.path("data").path("search");
+    }
+
+    private static GitHubApiRepo toRepository(JsonNode node) {
+        JsonNode owner = node.path("owner");
+        String updatedAt = node.path("updatedAt").asText(null);
+        String createdAt = node.path("createdAt").asText(null);
+        return new GitHubApiRepo(
+                node.path("name").asText(),
+                owner.isMissingNode() || owner.isNull()
+                        ? null
+                        : new GitHubApiRepo.Owner(owner.path("login").asText(null), owner.path("url").asText(null)),
+                node.path("url").asText(null),
+                node.path("stargazerCount").asInt(),
+                node.path("forkCount").asInt(),
+                updatedAt == null ? null : OffsetDateTime.parse(updatedAt),
+                createdAt == null ? null : OffsetDateTime.parse(createdAt));
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the GitHub rate-limit budget of every pooled token tracked by {@link RateLimitGovernor}.
+ * An exhausted budget degrades throughput but does not make the service unhealthy, so the status stays UP.
+ */
+@Component
+public class GitHubRateLimitHealthIndicator implements HealthIndicator {
+
+    private final RateLimitGovernor rateLimitGovernor;
+
+    public GitHubRateLimitHealthIndicator(RateLimitGovernor rateLimitGovernor) {
+        this.rateLimitGovernor = rateLimitGovernor;
+    }
+
+    @Override
+    public Health health() {
+        long now = System.currentTimeMillis();
+        Health.Builder builder = Health.up();
+        int available = 0;
+
+        for (GitHubTokenPool.PooledToken token : rateLimitGovernor.tokens()) {
+            RateLimitBudget.Snapshot snapshot = token.budget().snapshot();
+            long availableAt = GitHubTokenPool.availableAt(snapshot, now);
+
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("limit", snapshot.limit());
+            details.put("remaining", snapshot.remaining());
+            if (snapshot.resetAtMillis() > 0) {
+                details.put("resetAt", Instant.ofEpochMilli(snapshot.resetAtMillis()).toString());
+            }
+            details.put("quarantined", availableAt > now);
+            if (availableAt > now) {
+                details.put("availableAt", Instant.ofEpochMilli(availableAt).toString());
+            } else {
+                available++;
+            }
+            builder.withDetail(token.label(), details);
+        }
+        return builder.withDetail("availableTokens", available).build();
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.ivrnv.github.scoring.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming decoder for GitHub search responses.
+ * <p>
+ * Walks the JSON token stream and reads only the fields of {@link GitHubApiRepo}. All other fields of an item
+ * (GitHub sends around 80 of them, many nested) are skipped at token level without being materialized,
+ * and no reflective data binding is involved.
+ */
+public final class GitHubSearchResponseReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactoryBuilder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    /**
+     * Decodes a search response.
+     *
+     * @param body response body stream, not closed by this method
+     * @return decoded response
+     * @throws IOException if the stream cannot be read or is not a search response
+     */
+    public GitHubApiResponse read(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected search response object but got " + parser.currentToken());
+            }
+
+            long totalCount = 0;
+            boolean incompleteResults = false;
+            List<GitHubApiRepo> repositories = Collections.emptyList();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "total_count" -> totalCount = parser.getValueAsLong();
+                    case "incomplete_results" -> incompleteResults = parser.getValueAsBoolean();
+                    case "items" -> repositories = readItems(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            return new GitHubApiResponse(totalCount, incompleteResults, repositories);
+        }
+    }
+
+    private static List<GitHubApiRepo> readItems(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return Collections.emptyList();
+        }
+        List<GitHubApiRepo> items = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            items.add(readItem(parser));
+        }
+        return items;
+    }
+
+    private static GitHubApiRepo readItem(JsonParser parser) throws IOException {
+        String name = null;
+        GitHubApiRepo.Owner owner = null;
+        String url = null;
+        int stars = 0;
+        int forks = 0;
+        OffsetDateTime updatedAt = null;
+        OffsetDateTime createdAt = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "name" -> name = parser.getValueAsString();
+                case "owner" -> owner = readOwner(parser);
+                case "html_url" -> url = parser.getValueAsString();
+                case "stargazers_count" -> stars = parser.getValueAsInt();
+                case "forks_count" -> forks = parser.getValueAsInt();
+                case "updated_at" -> updatedAt = readDateTime(parser);
+                case "created_at" -> createdAt = readDateTime(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new GitHubApiRepo(name, owner, url, stars, forks, updatedAt, createdAt);
+    }
+
+    private static GitHubApiRepo.Owner readOwner(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String login = null;
+        String url = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "login" -> login = parser.getValueAsString();
+                case "html_url" -> url = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return new GitHubApiRepo.Owner(login, url);
+    }
+
+    private static OffsetDateTime readDateTime(JsonParser parser) throws IOException {
+        String text = parser.getValueAsString();
+        return text == null || text.isEmpty() ? null : OffsetDateTime.parse(text);
+    }
+}
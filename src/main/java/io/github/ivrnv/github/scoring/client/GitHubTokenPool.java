@@ -0,0 +1,114 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pool of GitHub API credentials, each with its own tracked rate-limit budget.
+ * <p>
+ * Every request is sent with the token whose next paced call slot comes first, and among tokens free at the
+ * same time with the one that has the most budget left. Tokens that are exhausted or in back-off are
+ * quarantined until their window resets. Without configured tokens the pool holds a single
+ * anonymous credential, which keeps the unauthenticated behaviour.
+ */
+@Component
+public class GitHubTokenPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubTokenPool.class);
+
+    private final List<PooledToken> tokens;
+
+    public GitHubTokenPool(@Value("${github.api.tokens:}") List<String> secrets) {
+        List<PooledToken> pooled = new ArrayList<>();
+        for (String secret : secrets) {
+            if (secret != null && !secret.isBlank()) {
+                pooled.add(new PooledToken("token-" + (pooled.size() + 1), secret.trim(), new RateLimitBudget()));
+            }
+        }
+        if (pooled.isEmpty()) {
+            logger.warn("No GitHub API tokens configured, using anonymous access");
+            pooled.add(new PooledToken("anonymous", null, new RateLimitBudget()));
+        } else {
+            logger.info("Initialized GitHub token pool with {} tokens", pooled.size());
+        }
+        this.tokens = Collections.unmodifiableList(pooled);
+    }
+
+    /**
+     * Selects the credential for the next request: the token that can send a call first, counting both
+     * quarantine and pacing, and among those free at the same time the one with the most remaining budget.
+     *
+     * @param nowMillis current time in epoch milliseconds
+     * @return selected token
+     */
+    PooledToken select(long nowMillis) {
+        PooledToken best = null;
+        long bestSendAt = Long.MAX_VALUE;
+        long bestRemaining = -1;
+
+        for (PooledToken token : tokens) {
+            RateLimitBudget.Snapshot snapshot = token.budget().snapshot();
+            long sendAt = sendAt(snapshot, nowMillis);
+            // Unknown budget means the token has not been used yet and is treated as full
+            long remaining = snapshot.remaining() < 0 ? Long.MAX_VALUE : snapshot.remaining();
+            if (sendAt < bestSendAt || (sendAt == bestSendAt && remaining > bestRemaining)) {
+                best = token;
+                bestSendAt = sendAt;
+                bestRemaining = remaining;
+            }
+        }
+        return best;
+    }
+
+    List<PooledToken> tokens() {
+        return tokens;
+    }
+
+    /**
+     * Returns the earliest time a call could be sent with a token: when it leaves quarantine or, while its
+     * calls are paced, when its next slot comes up. Never earlier than {@code nowMillis}.
+     */
+    static long sendAt(RateLimitBudget.Snapshot snapshot, long nowMillis) {
+        long sendAt = availableAt(snapshot, nowMillis);
+        if (snapshot.isPaced(sendAt)) {
+            sendAt = Math.max(sendAt, snapshot.nextSlotMillis());
+        }
+        return sendAt;
+    }
+
+    /**
+     * Returns the time a token leaves quarantine, or {@code nowMillis} if it is available.
+     */
+    static long availableAt(RateLimitBudget.Snapshot snapshot, long nowMillis) {
+        long availableAt = nowMillis;
+        if (snapshot.isBlocked(nowMillis)) {
+            availableAt = snapshot.blockedUntilMillis();
+        }
+        if (snapshot.remaining() == 0 && snapshot.resetAtMillis() > availableAt) {
+            availableAt = snapshot.resetAtMillis();
+        }
+        return availableAt;
+    }
+
+    /**
+     * Credential with its rate-limit budget. The label identifies the token in logs and metrics
+     * without revealing the secret; the secret is null for anonymous access.
+     */
+    record PooledToken(String label, String secret, RateLimitBudget budget) {
+
+        boolean isAnonymous() {
+            return secret == null;
+        }
+
+        @Override
+        public String toString() {
+            return "PooledToken{label=" + label + '}';
+        }
+    }
+}
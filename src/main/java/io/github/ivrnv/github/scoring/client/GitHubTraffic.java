@@ -0,0 +1,287 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records GitHub traffic to a {@link TrafficLog} and replays it, so builds can be benchmarked offline on real
+ * query mixes and payloads.
+ * <p>
+ * With {@code github.api.traffic.mode=record} every exchange of the {@link GitHubClient} is appended to the log
+ * with its response status, headers, body and duration. With {@code replay} GitHub is never called: each request
+ * is answered with a recorded exchange of the same method, path, query and body, after the recorded duration
+ * scaled by {@code github.api.traffic.replay-speed}. Repeated requests cycle through the recordings in order.
+ * A request nothing was recorded for fails with 502.
+ */
+@Component
+public class GitHubTraffic implements ClientHttpRequestInterceptor, MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubTraffic.class);
+
+    private enum Mode { OFF, RECORD, REPLAY }
+
+    /**
+     * Recorded exchanges of one request and the next one to serve.
+     */
+    private record Recording(List<TrafficLog.Exchange> exchanges, AtomicInteger next) {
+    }
+
+    private final Mode mode;
+    private final double replaySpeed;
+    private final TrafficLog log;
+    private final Map<String, Recording> recordings;
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+
+    public GitHubTraffic(
+            @Value("${github.api.traffic.mode:off}") String mode,
+            @Value("${github.api.traffic.file:${java.io.tmpdir}/github-scoring/traffic.log}") String file,
+            @Value("${github.api.traffic.replay-speed:1.0}") double replaySpeed) {
+        this.mode = parseMode(mode);
+        if (replaySpeed < 0) {
+            throw new IllegalArgumentException("Replay speed must not be negative");
+        }
+        this.replaySpeed = replaySpeed;
+        this.log = this.mode == Mode.RECORD ? openLog(Path.of(file)) : null;
+        this.recordings = this.mode == Mode.REPLAY ? loadRecordings(Path.of(file)) : Map.of();
+    }
+
+    /**
+     * @return traffic that passes every request to GitHub untouched
+     */
+    public static GitHubTraffic off() {
+        return new GitHubTraffic("off", null, 1.0);
+    }
+
+    /**
+     * @return whether requests are recorded or replayed
+     */
+    boolean isActive() {
+        return mode == Mode.REPLAY || log != null;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (mode == Mode.REPLAY) {
+            return replay(request, body);
+        }
+        if (log != null) {
+            return record(request, body, execution);
+        }
+        return execution.execute(request, body);
+    }
+
+    private ClientHttpResponse record(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long recordedAtMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        HttpStatusCode status;
+        HttpHeaders headers = new HttpHeaders();
+        byte[] responseBody;
+        try (ClientHttpResponse response = execution.execute(request, body)) {
+            status = response.getStatusCode();
+            headers.putAll(response.getHeaders());
+            responseBody = response.getBody().readAllBytes();
+        }
+        long durationMicros = (System.nanoTime() - start) / 1000;
+
+        String uri = pathAndQuery(request.getURI());
+        try {
+            log.write(new TrafficLog.Exchange(recordedAtMillis, durationMicros, request.getMethod().name(), uri,
+                    isConditional(request), body, status.value(), headers, responseBody));
+            recorded.increment();
+        } catch (IOException e) {
+            logger.warn("Could not record GitHub exchange {} {}", request.getMethod(), uri, e);
+        }
+        return new RecordedResponse(status, headers, responseBody);
+    }
+
+    private ClientHttpResponse replay(HttpRequest request, byte[] body) throws IOException {
+        String method = request.getMethod().name();
+        String uri = pathAndQuery(request.getURI());
+        Recording recording = isConditional(request) ? recordings.get(key(method, uri, true, body)) : null;
+        if (recording == null) {
+            // A full response also answers a conditional request
+            recording = recordings.get(key(method, uri, false, body));
+        }
+        if (recording == null) {
+            missing.increment();
+            logger.warn("No recorded GitHub exchange for {} {}", method, uri);
+            throw new GitHubApiException("No recorded GitHub exchange for " + method + " " + uri,
+                    HttpStatus.BAD_GATEWAY);
+        }
+
+        List<TrafficLog.Exchange> exchanges = recording.exchanges();
+        TrafficLog.Exchange exchange =
+                exchanges.get(Math.floorMod(recording.next().getAndIncrement(), exchanges.size()));
+        long delayMicros = (long) (exchange.durationMicros() * replaySpeed);
+        if (delayMicros > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(delayMicros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while replaying " + method + " " + uri);
+            }
+        }
+        replayed.increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(exchange.headers());
+        return new RecordedResponse(HttpStatusCode.valueOf(exchange.status()), headers, exchange.body());
+    }
+
+    private static Mode parseMode(String mode) {
+        String normalised = mode.trim().toUpperCase(Locale.ROOT);
+        // YAML 1.1 reads an unquoted off as the boolean false
+        if (normalised.equals("FALSE")) {
+            return Mode.OFF;
+        }
+        try {
+            return Mode.valueOf(normalised);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Traffic mode must be one of 'off', 'record' or 'replay'");
+        }
+    }
+
+    private static TrafficLog openLog(Path file) {
+        try {
+            TrafficLog log = TrafficLog.append(file);
+            logger.info("Recording GitHub traffic to {}", file);
+            return log;
+        } catch (IOException e) {
+            logger.error("Could not open traffic log {}, continuing without recording", file, e);
+            return null;
+        }
+    }
+
+    private static Map<String, Recording> loadRecordings(Path file) {
+        List<TrafficLog.Exchange> exchanges;
+        try {
+            exchanges = TrafficLog.read(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read traffic log " + file + " to replay", e);
+        }
+        Map<String, List<TrafficLog.Exchange>> byRequest = new HashMap<>();
+        for (TrafficLog.Exchange exchange : exchanges) {
+            byRequest.computeIfAbsent(
+                    key(exchange.method(), exchange.uri(), exchange.conditional(), exchange.requestBody()),
+                    key -> new ArrayList<>()).add(exchange);
+        }
+        logger.info("Replaying {} GitHub exchanges of {} distinct requests from {}",
+                exchanges.size(), byRequest.size(), file);
+        Map<String, Recording> recordings = new HashMap<>();
+        byRequest.forEach((key, recorded) -> recordings.put(key, new Recording(recorded, new AtomicInteger())));
+        return recordings;
+    }
+
+    private static String key(String method, String uri, boolean conditional, byte[] body) {
+        return method + ' ' + uri + (conditional ? " conditional" : "")
+                + (body.length > 0 ? " " + Integer.toHexString(Arrays.hashCode(body)) : "");
+    }
+
+    /**
+     * @return path and query of a request, so recordings replay against any base URL
+     */
+    private static String pathAndQuery(URI uri) {
+        return uri.getRawQuery() != null ? uri.getRawPath() + '?' + uri.getRawQuery() : uri.getRawPath();
+    }
+
+    private static boolean isConditional(HttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("github.api.traffic.exchanges", recorded, LongAdder::sum)
+                .tag("result", "recorded")
+                .description("GitHub exchanges recorded or replayed")
+                .register(registry);
+        FunctionCounter.builder("github.api.traffic.exchanges", replayed, LongAdder::sum)
+                .tag("result", "replayed")
+                .description("GitHub exchanges recorded or replayed")
+                .register(registry);
+        FunctionCounter.builder("github.api.traffic.exchanges", missing, LongAdder::sum)
+                .tag("result", "missing")
+                .description("GitHub exchanges recorded or replayed")
+                .register(registry);
+    }
+
+    /**
+     * Response whose body is held in memory.
+     */
+    private static final class RecordedResponse implements ClientHttpResponse {
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        RecordedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus known = HttpStatus.resolve(status.value());
+            return known != null ? known.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
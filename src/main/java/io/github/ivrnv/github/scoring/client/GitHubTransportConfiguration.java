@@ -0,0 +1,134 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import javax.net.ssl.SSLContext;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP transport used by {@link GitHubClient}.
+ * <p>
+ * By default requests go through a pooled Apache HttpClient 5 with configurable pool limits, idle eviction,
+ * keep-alive and a shared TLS session cache, and pool usage is published as Micrometer gauges.
+ * With {@code github.api.transport.http2=true} the JDK {@link HttpClient} is used instead, which multiplexes
+ * concurrent requests over a single HTTP/2 connection.
+ */
+@Configuration
+public class GitHubTransportConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubTransportConfiguration.class);
+    private static final String HTTP2_PROPERTY = "github.api.transport.http2";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager gitHubConnectionManager(
+            @Value("${github.api.timeout.connect:5000}") int connectTimeout,
+            @Value("${github.api.timeout.read:10000}") int readTimeout,
+            @Value("${github.api.transport.max-connections:50}") int maxConnections,
+            @Value("${github.api.transport.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${github.api.transport.time-to-live:300000}") long timeToLive,
+            @Value("${github.api.transport.validate-after-inactivity:2000}") long validateAfterInactivity,
+            @Value("${github.api.transport.tls-session-timeout:3600}") int tlsSessionTimeout) {
+
+        logger.info("Initializing GitHub connection pool with maxConnections: {}, maxConnectionsPerRoute: {}",
+                maxConnections, maxConnectionsPerRoute);
+
+        // One SSL context for the whole pool, so new connections resume cached TLS sessions
+        SSLContext sslContext = SSLContexts.createSystemDefault();
+        sslContext.getClientSessionContext().setSessionTimeout(tlsSessionTimeout);
+
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setTlsSocketStrategy(new DefaultClientTlsStrategy(sslContext))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient gitHubHttpClient(
+            PoolingHttpClientConnectionManager gitHubConnectionManager,
+            @Value("${github.api.timeout.read:10000}") int readTimeout,
+            @Value("${github.api.transport.connection-request-timeout:5000}") long connectionRequestTimeout,
+            @Value("${github.api.transport.keep-alive:60000}") long keepAlive,
+            @Value("${github.api.transport.max-idle-time:30000}") long maxIdleTime) {
+
+        return HttpClients.custom()
+                .setConnectionManager(gitHubConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        // Used when the server does not announce its own Keep-Alive timeout
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(maxIdleTime))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    public ClientHttpRequestFactory gitHubRequestFactory(CloseableHttpClient gitHubHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(gitHubHttpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "false", matchIfMissing = true)
+    public MeterBinder gitHubConnectionPoolMetrics(PoolingHttpClientConnectionManager gitHubConnectionManager) {
+        // Publishes httpcomponents.httpclient.pool.* gauges for leased, pending and available connections
+        return new PoolingHttpClientConnectionManagerMetricsBinder(gitHubConnectionManager, "github");
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "true")
+    public ExecutorService gitHubHttp2Executor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean(name = "gitHubRequestFactory")
+    @ConditionalOnProperty(name = HTTP2_PROPERTY, havingValue = "true")
+    public ClientHttpRequestFactory gitHubHttp2RequestFactory(
+            ExecutorService gitHubHttp2Executor,
+            @Value("${github.api.timeout.connect:5000}") int connectTimeout,
+            @Value("${github.api.timeout.read:10000}") int readTimeout) {
+
+        logger.info("Initializing GitHub HTTP/2 transport");
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .executor(gitHubHttp2Executor)
+                .build();
+        var factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(readTimeout);
+        return factory;
+    }
+}
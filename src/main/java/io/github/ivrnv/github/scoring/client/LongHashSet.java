@@ -0,0 +1,89 @@
+package io.github.ivrnv.github.scoring.client;
+
+/**
+ * Compact open-addressing set of {@code long} values.
+ * Stores primitives in a single array (8 bytes per slot) instead of boxed entries of a {@code HashSet}.
+ * The value 0 is handled separately because it marks empty slots. Not thread-safe.
+ */
+final class LongHashSet {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.slots = new long[capacity];
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @return true if the value was not present
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        if (size + 1 > slots.length * LOAD_FACTOR) {
+            grow();
+        }
+        if (!insert(slots, value)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(value) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] grown = new long[slots.length << 1];
+        for (long value : slots) {
+            if (value != 0) {
+                insert(grown, value);
+            }
+        }
+        slots = grown;
+    }
+
+    private static boolean insert(long[] table, long value) {
+        int mask = table.length - 1;
+        int i = mix(value) & mask;
+        while (table[i] != 0) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        return true;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Live view of a GitHub rate-limit window reconstructed from {@code X-RateLimit-*} and
+ * {@code Retry-After} response headers.
+ * <p>
+ * Outbound calls reserve slots that are spread evenly over the time left until the window resets,
+ * so the remaining budget is drained smoothly instead of in a burst followed by 403/429 responses.
+ * All times are epoch milliseconds supplied by the caller.
+ */
+final class RateLimitBudget {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+    static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    /**
+     * Length of the search API rate-limit window, used to pace calls right after a reset.
+     */
+    private static final long WINDOW_MILLIS = 60_000;
+
+    /**
+     * GitHub asks to wait at least one minute after hitting a secondary rate limit without Retry-After.
+     */
+    private static final long SECONDARY_LIMIT_BACKOFF_MILLIS = 60_000;
+
+    private int limit = -1;
+    private int remaining = -1;
+    private long resetAtMillis;
+    private long blockedUntilMillis;
+    private long nextSlotMillis;
+
+    /**
+     * Reserves the next outbound call slot.
+     * The reservation is only committed when the resulting delay does not exceed {@code maxDelayMillis}.
+     *
+     * @param nowMillis      current time
+     * @param maxDelayMillis longest acceptable wait
+     * @return delay in milliseconds before the call may be sent
+     */
+    synchronized long reserve(long nowMillis, long maxDelayMillis) {
+        long earliest = Math.max(nowMillis, blockedUntilMillis);
+
+        if (remaining < 0 || (remaining > 0 && resetAtMillis <= earliest)) {
+            // Budget unknown or the window has already rolled over: nothing to pace against
+            return earliest - nowMillis;
+        }
+
+        long slot;
+        long interval;
+        if (remaining == 0) {
+            // Exhausted: wait for the reset and spread the refilled budget over the next window
+            slot = Math.max(Math.max(earliest, resetAtMillis), nextSlotMillis);
+            interval = limit > 0 ? WINDOW_MILLIS / limit : 0;
+        } else {
+            slot = Math.max(earliest, nextSlotMillis);
+            interval = Math.max(0, resetAtMillis - slot) / remaining;
+        }
+
+        long delay = slot - nowMillis;
+        if (delay > maxDelayMillis) {
+            return delay;
+        }
+        nextSlotMillis = slot + interval;
+        if (remaining > 0) {
+            remaining--;
+        }
+        return delay;
+    }
+
+    /**
+     * Updates the budget from a GitHub response.
+     *
+     * @param status    HTTP status code of the response
+     * @param headers   response headers
+     * @param nowMillis current time
+     */
+    synchronized void update(int status, HttpHeaders headers, long nowMillis) {
+        Long reportedLimit = parseLong(headers.getFirst(LIMIT_HEADER));
+        Long reportedRemaining = parseLong(headers.getFirst(REMAINING_HEADER));
+        Long reportedReset = parseLong(headers.getFirst(RESET_HEADER));
+
+        if (reportedRemaining != null && reportedReset != null) {
+            long resetMillis = reportedReset * 1000;
+            if (resetMillis == resetAtMillis && remaining >= 0) {
+                // Responses of the same window may arrive out of order; the lowest value is the freshest
+                remaining = (int) Math.min(remaining, reportedRemaining);
+            } else if (resetMillis >= resetAtMillis) {
+                remaining = reportedRemaining.intValue();
+                resetAtMillis = resetMillis;
+                nextSlotMillis = Math.min(nextSlotMillis, nowMillis);
+            }
+            if (reportedLimit != null) {
+                limit = reportedLimit.intValue();
+            }
+        }
+
+        if (status == 403 || status == 429) {
+            Long retryAfterSeconds = parseLong(headers.getFirst(RETRY_AFTER_HEADER));
+            if (retryAfterSeconds != null) {
+                blockedUntilMillis = Math.max(blockedUntilMillis, nowMillis + retryAfterSeconds * 1000);
+            } else if (reportedRemaining != null && reportedRemaining == 0) {
+                blockedUntilMillis = Math.max(blockedUntilMillis, resetAtMillis);
+            } else if (reportedRemaining != null) {
+                // Primary budget left but still rejected: secondary rate limit
+                blockedUntilMillis = Math.max(blockedUntilMillis, nowMillis + SECONDARY_LIMIT_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(limit, remaining, resetAtMillis, blockedUntilMillis, nextSlotMillis);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Point-in-time copy of the budget. Negative limit and remaining values mean "not known yet".
+     * {@code nextSlotMillis} is the earliest time the next paced call may be sent.
+     */
+    record Snapshot(int limit, int remaining, long resetAtMillis, long blockedUntilMillis, long nextSlotMillis) {
+
+        boolean isBlocked(long nowMillis) {
+            return blockedUntilMillis > nowMillis;
+        }
+
+        /**
+         * @return whether calls are currently paced against a known window, as {@link #reserve} does
+         */
+        boolean isPaced(long nowMillis) {
+            return remaining > 0 && resetAtMillis > nowMillis;
+        }
+    }
+}
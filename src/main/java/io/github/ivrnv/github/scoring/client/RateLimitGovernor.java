@@ -0,0 +1,186 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request interceptor that authenticates outbound GitHub calls and paces them according to the live
+ * rate-limit budget.
+ * <p>
+ * Each call is sent with the token chosen by {@link GitHubTokenPool}, and that token's budget is learned
+ * from the {@code X-RateLimit-*} headers of the response. Calls are delayed so that the remaining budget
+ * lasts until the window resets, and {@code Retry-After} / secondary rate-limit back-off is honoured.
+ * When the required wait exceeds the configured maximum the call fails fast with 429 instead of holding
+ * the caller's thread. Waits are reported to the {@link UpstreamTimer} of the call, so pacing does not count
+ * as GitHub latency. Hedged duplicates are only sent if a slot is free right away.
+ */
+@Component
+public class RateLimitGovernor implements ClientHttpRequestInterceptor, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitGovernor.class);
+
+    private final GitHubTokenPool tokenPool;
+    private final long maxWaitMillis;
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitedMillis = new LongAdder();
+
+    public RateLimitGovernor(
+            GitHubTokenPool tokenPool,
+            @Value("${github.api.rate-limit.max-wait:30000}") long maxWaitMillis) {
+        this.tokenPool = tokenPool;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        GitHubTokenPool.PooledToken token = UpstreamTimer.isHedge() ? acquireNow() : acquire();
+        if (!token.isAnonymous()) {
+            request.getHeaders().setBearerAuth(token.secret());
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        token.budget().update(response.getStatusCode().value(), response.getHeaders(), System.currentTimeMillis());
+        return response;
+    }
+
+    /**
+     * Selects a token and blocks until its next call slot, or fails if the wait would exceed
+     * the configured maximum.
+     *
+     * @return token to send the call with
+     * @throws GitHubApiException with status 429 if all budgets are exhausted for too long
+     */
+    GitHubTokenPool.PooledToken acquire() {
+        GitHubTokenPool.PooledToken token = tokenPool.select(System.currentTimeMillis());
+        long delay = token.budget().reserve(System.currentTimeMillis(), maxWaitMillis);
+        if (delay <= 0) {
+            return token;
+        }
+        if (delay > maxWaitMillis) {
+            rejected.increment();
+            long seconds = (delay + 999) / 1000;
+            logger.warn("GitHub API rate limit budget exhausted, rejecting call (next slot in {}s)", seconds);
+            throw new GitHubApiException("GitHub API rate limit exceeded, retry in " + seconds + "s",
+                    HttpStatus.TOO_MANY_REQUESTS);
+        }
+
+        throttled.increment();
+        waitedMillis.add(delay);
+        logger.debug("Pacing GitHub API call by {}ms", delay);
+        UpstreamTimer.pacing(delay);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitHubApiException("Interrupted while waiting for GitHub API rate limit", e);
+        }
+        return token;
+    }
+
+    /**
+     * Selects a token whose next call slot is free now, without waiting.
+     *
+     * @return token to send the call with
+     * @throws GitHubApiException with status 429 if no slot is free
+     */
+    GitHubTokenPool.PooledToken acquireNow() {
+        GitHubTokenPool.PooledToken token = tokenPool.select(System.currentTimeMillis());
+        long delay = token.budget().reserve(System.currentTimeMillis(), 0);
+        if (delay > 0) {
+            logger.debug("No free GitHub API call slot for hedged request (next slot in {}ms)", delay);
+            throw new GitHubApiException("No free GitHub API call slot", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return token;
+    }
+
+    /**
+     * Share of the rate-limit budget left in the current windows, averaged over all tokens.
+     * Tokens whose budget is not known yet or whose window has reset count as full.
+     *
+     * @return value between 0 and 1
+     */
+    public double remainingShare() {
+        long now = System.currentTimeMillis();
+        double shares = 0;
+        for (GitHubTokenPool.PooledToken token : tokenPool.tokens()) {
+            RateLimitBudget.Snapshot snapshot = token.budget().snapshot();
+            boolean known = snapshot.limit() > 0 && snapshot.remaining() >= 0 && snapshot.resetAtMillis() > now;
+            shares += known ? Math.min(1.0, (double) snapshot.remaining() / snapshot.limit()) : 1.0;
+        }
+        return shares / tokenPool.tokens().size();
+    }
+
+    List<GitHubTokenPool.PooledToken> tokens() {
+        return tokenPool.tokens();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (GitHubTokenPool.PooledToken token : tokenPool.tokens()) {
+            RateLimitBudget budget = token.budget();
+            Gauge.builder("github.client.ratelimit.remaining", budget, b -> b.snapshot().remaining())
+                    .tag("token", token.label())
+                    .description("Remaining calls in the current GitHub rate-limit window (-1 if unknown)")
+                    .register(registry);
+            Gauge.builder("github.client.ratelimit.limit", budget, b -> b.snapshot().limit())
+                    .tag("token", token.label())
+                    .description("Size of the GitHub rate-limit window (-1 if unknown)")
+                    .register(registry);
+            Gauge.builder("github.client.ratelimit.utilization", budget, RateLimitGovernor::utilization)
+                    .tag("token", token.label())
+                    .description("Share of the current rate-limit window already used")
+                    .register(registry);
+            Gauge.builder("github.client.ratelimit.reset", budget,
+                            b -> Math.max(0, b.snapshot().resetAtMillis() - System.currentTimeMillis()) / 1000.0)
+                    .tag("token", token.label())
+                    .description("Seconds until the GitHub rate-limit window resets")
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+        Gauge.builder("github.client.ratelimit.quarantined", tokenPool, RateLimitGovernor::quarantinedTokens)
+                .description("Tokens waiting for their rate-limit window to reset")
+                .register(registry);
+        FunctionCounter.builder("github.client.ratelimit.throttled", throttled, LongAdder::doubleValue)
+                .description("Calls delayed to stay within the rate-limit budget")
+                .register(registry);
+        FunctionCounter.builder("github.client.ratelimit.rejected", rejected, LongAdder::doubleValue)
+                .description("Calls rejected because the rate-limit budget was exhausted for too long")
+                .register(registry);
+        FunctionCounter.builder("github.client.ratelimit.wait", waitedMillis, LongAdder::doubleValue)
+                .description("Total time calls were delayed by pacing")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private static double utilization(RateLimitBudget budget) {
+        RateLimitBudget.Snapshot snapshot = budget.snapshot();
+        if (snapshot.limit() <= 0 || snapshot.remaining() < 0) {
+            return 0;
+        }
+        return 1.0 - (double) snapshot.remaining() / snapshot.limit();
+    }
+
+    private static double quarantinedTokens(GitHubTokenPool tokenPool) {
+        long now = System.currentTimeMillis();
+        return tokenPool.tokens().stream()
+                .filter(token -> GitHubTokenPool.availableAt(token.budget().snapshot(), now) > now)
+                .count();
+    }
+}
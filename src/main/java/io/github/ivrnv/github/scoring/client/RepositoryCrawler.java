@@ -0,0 +1,245 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.service.PageRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Crawls the complete population of repositories for a language, beyond the 1000-result search cap.
+ * <p>
+ * The creation date range is split recursively into windows until each window matches at most
+ * {@link GitHubClient#MAX_SEARCH_RESULTS} repositories. The first page of every window doubles as the probe
+ * for its size; the remaining pages of all windows are then fetched in parallel, paced by the client's rate-limit
+ * governor. Repositories that show up in more than one page (results shift while stars change) are
+ * de-duplicated with a compact hash set of their URLs.
+ * <p>
+ * Windows are planned newest first. A crawl cut off at {@code github.crawler.max-results} therefore leaves out the
+ * oldest repositories, and what it returns is complete for every creation date from some day on, which is what
+ * queries for repositories created after a date need. The {@link CrawlResult} tells whether and where a crawl was
+ * cut off.
+ */
+@Component
+public class RepositoryCrawler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryCrawler.class);
+    private static final int PAGE_SIZE = 100;
+
+    private final GitHubClient gitHubClient;
+    private final int maxResults;
+    private final int maxConcurrency;
+
+    public RepositoryCrawler(
+            GitHubClient gitHubClient,
+            @Value("${github.crawler.max-results:10000}") int maxResults,
+            @Value("${github.crawler.max-concurrency:4}") int maxConcurrency) {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("Max results must be greater than 0");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+        this.gitHubClient = gitHubClient;
+        this.maxResults = maxResults;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Crawls all repositories of a language created on or after the given date, up to today.
+     *
+     * @see #crawl(String, LocalDate, LocalDate)
+     */
+    public CrawlResult crawl(String language, LocalDate createdAfter) {
+        return crawl(language, createdAfter, LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Crawls all repositories of a language created within a date window.
+     * At most {@code github.crawler.max-results} repositories are returned.
+     *
+     * @param language    The programming language to filter repositories by (must not be null or empty)
+     * @param createdFrom The first creation date, inclusive (must not be null)
+     * @param createdTo   The last creation date, inclusive (must not be before createdFrom)
+     * @return de-duplicated repositories, window by window from the newest, and how much of the window they cover
+     * @throws GitHubApiException if fetching from GitHub fails
+     */
+    public CrawlResult crawl(String language, LocalDate createdFrom, LocalDate createdTo) {
+        if (createdFrom == null || createdTo == null) {
+            throw new IllegalArgumentException("Creation date window must not be null");
+        }
+        if (createdTo.isBefore(createdFrom)) {
+            throw new IllegalArgumentException("Created to date must not be before created from date");
+        }
+
+        Plan plan = planShards(language, createdFrom, createdTo);
+        List<Shard> shards = plan.shards();
+        List<List<GitHubApiRepo>> remainingPages = fetchRemainingPages(language, shards);
+
+        LongHashSet seen = new LongHashSet(Math.min(maxResults, 1 << 16));
+        List<GitHubApiRepo> repositories = new ArrayList<>();
+        int duplicates = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            duplicates += collect(shards.get(i).firstPage().repositories(), seen, repositories);
+            duplicates += collect(remainingPages.get(i), seen, repositories);
+        }
+
+        logger.info("Crawled {} repositories for language {} in {} windows ({} duplicates skipped)",
+                repositories.size(), language, shards.size(), duplicates);
+        if (plan.truncated()) {
+            logger.warn("Crawl of {} repositories for language {} was cut off, complete only from {}",
+                    plan.totalCount(), language, plan.completedFrom());
+        }
+        return new CrawlResult(
+                repositories.size() > maxResults ? repositories.subList(0, maxResults) : repositories,
+                plan.totalCount(), plan.truncated(), plan.completedFrom());
+    }
+
+    /**
+     * Splits the window until every part fits into the search cap, keeping the probe page of each part.
+     * Parts are planned newest first until {@code max-results} repositories are planned.
+     */
+    private Plan planShards(String language, LocalDate createdFrom, LocalDate createdTo) {
+        List<Shard> shards = new ArrayList<>();
+        Deque<LocalDate[]> pending = new ArrayDeque<>();
+        pending.push(new LocalDate[] {createdFrom, createdTo});
+        long planned = 0;
+        long totalCount = -1;
+        boolean complete = true;
+        LocalDate completedFrom = null;
+
+        while (!pending.isEmpty() && planned < maxResults) {
+            LocalDate[] window = pending.pop();
+            GitHubApiResponse firstPage = gitHubClient.fetchRepositories(
+                    language, window[0], window[1], new PageRequest(1, PAGE_SIZE));
+            if (totalCount < 0) {
+                totalCount = firstPage.totalCount();
+            }
+
+            if (firstPage.totalCount() > GitHubClient.MAX_SEARCH_RESULTS && window[0].isBefore(window[1])) {
+                LocalDate middle = window[0].plusDays(ChronoUnit.DAYS.between(window[0], window[1]) / 2);
+                // Pushed in reverse so that newer windows are crawled first
+                pending.push(new LocalDate[] {window[0], middle});
+                pending.push(new LocalDate[] {middle.plusDays(1), window[1]});
+                continue;
+            }
+            long matching = Math.min(firstPage.totalCount(), GitHubClient.MAX_SEARCH_RESULTS);
+            if (!shards.isEmpty() && planned + matching > maxResults) {
+                complete = false;
+                break;
+            }
+            if (firstPage.totalCount() > GitHubClient.MAX_SEARCH_RESULTS) {
+                logger.warn("{} repositories created on {} exceed the search cap, only the first {} are crawled",
+                        firstPage.totalCount(), window[0], GitHubClient.MAX_SEARCH_RESULTS);
+                complete = false;
+            }
+            shards.add(new Shard(window[0], window[1], firstPage));
+            planned += matching;
+            // Only the first window can exceed max-results on its own; it is cut off after crawling
+            complete &= planned <= maxResults;
+            if (complete) {
+                completedFrom = window[0];
+            }
+        }
+        boolean truncated = !complete || !pending.isEmpty();
+        return new Plan(shards, Math.max(totalCount, 0), truncated, completedFrom);
+    }
+
+    private List<List<GitHubApiRepo>> fetchRemainingPages(String language, List<Shard> shards) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<List<Future<GitHubApiResponse>>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Shard shard : shards) {
+                List<Future<GitHubApiResponse>> shardFutures = new ArrayList<>();
+                for (int page = 2; page <= shard.pageCount(); page++) {
+                    PageRequest pageable = new PageRequest(page, PAGE_SIZE);
+                    shardFutures.add(executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return gitHubClient.fetchRepositories(language, shard.from(), shard.to(), pageable);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                futures.add(shardFutures);
+            }
+
+            List<List<GitHubApiRepo>> pages = new ArrayList<>(shards.size());
+            try {
+                for (List<Future<GitHubApiResponse>> shardFutures : futures) {
+                    List<GitHubApiRepo> repositories = new ArrayList<>();
+                    for (Future<GitHubApiResponse> future : shardFutures) {
+                        repositories.addAll(future.get().repositories());
+                    }
+                    pages.add(repositories);
+                }
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new GitHubApiException("Error crawling repositories from GitHub", e.getCause());
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new GitHubApiException("Interrupted while crawling repositories from GitHub", e);
+            }
+            return pages;
+        }
+    }
+
+    private static int collect(List<GitHubApiRepo> page, LongHashSet seen, List<GitHubApiRepo> repositories) {
+        int duplicates = 0;
+        for (GitHubApiRepo repository : page) {
+            if (seen.add(fingerprint(repository))) {
+                repositories.add(repository);
+            } else {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the repository URL (or owner and name if the URL is missing).
+     */
+    static long fingerprint(GitHubApiRepo repository) {
+        String identity = repository.url() != null
+                ? repository.url()
+                : (repository.owner() != null ? repository.owner().login() : "") + "/" + repository.name();
+        return Fnv1a.hash(identity);
+    }
+
+    /**
+     * Windows to crawl, newest first, and how much of the requested window they cover.
+     */
+    private record Plan(List<Shard> shards, long totalCount, boolean truncated, LocalDate completedFrom) {
+    }
+
+    /**
+     * Creation date window that fits into the search cap, with its already fetched first page.
+     */
+    private record Shard(LocalDate from, LocalDate to, GitHubApiResponse firstPage) {
+
+        int pageCount() {
+            long reachable = Math.min(firstPage.totalCount(), GitHubClient.MAX_SEARCH_RESULTS);
+            return (int) ((reachable + PAGE_SIZE - 1) / PAGE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedges slow GitHub calls.
+ * <p>
+ * A call that has not completed within the configured latency percentile of recent calls is sent a second
+ * time, and whichever attempt succeeds first is returned; the other attempt is interrupted. Latencies and the
+ * delay leave out time spent waiting for a rate-limit slot, and the hedged request is only sent if a slot is
+ * free right away, so rate-limit pacing never triggers a hedge. The delay is
+ * taken from a window of recent latencies and never drops below {@code min-delay}; until the window has
+ * enough samples {@code initial-delay} is used. At most {@code max-ratio} of all calls are hedged, so a
+ * GitHub-wide slowdown cannot double the load on GitHub or on the rate-limit budget.
+ */
+@Component
+public class RequestHedger implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestHedger.class);
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final long initialDelayMillis;
+    private final double maxRatio;
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int position;
+    private int samples;
+    private volatile long delayMillis;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    public RequestHedger(
+            @Value("${github.api.hedging.enabled:true}") boolean enabled,
+            @Value("${github.api.hedging.percentile:0.95}") double percentile,
+            @Value("${github.api.hedging.min-delay:100}") long minDelayMillis,
+            @Value("${github.api.hedging.initial-delay:2000}") long initialDelayMillis,
+            @Value("${github.api.hedging.max-ratio:0.1}") double maxRatio) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxRatio = maxRatio;
+        this.delayMillis = Math.max(minDelayMillis, initialDelayMillis);
+    }
+
+    /**
+     * Runs a call, hedging it if it is slower than usual.
+     *
+     * @param call idempotent call to run
+     * @return the result of the first successful attempt
+     * @throws RuntimeException the failure of the last attempt if all attempts fail
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        calls.increment();
+        UpstreamTimer parent = UpstreamTimer.current();
+        Attempt<T> primary = new Attempt<>(call, parent, false);
+        try {
+            long wait = delayMillis;
+            while (true) {
+                try {
+                    return primary.result.get(wait, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Waiting for a rate-limit slot does not count towards the hedge delay
+                    long elapsed = primary.timer.elapsedMillis();
+                    if (elapsed >= delayMillis) {
+                        break;
+                    }
+                    wait = delayMillis - elapsed;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            primary.cancel();
+            Thread.currentThread().interrupt();
+            throw new GitHubApiException("Interrupted while waiting for GitHub API", e);
+        }
+
+        if (hedges.sum() >= maxRatio * calls.sum()) {
+            return await(primary.result, primary);
+        }
+        hedges.increment();
+        logger.debug("GitHub call slower than {}ms, sending hedged request", delayMillis);
+        Attempt<T> hedge = new Attempt<>(call, parent, true);
+        return await(firstSuccessful(primary, hedge), primary, hedge);
+    }
+
+    long delayMillis() {
+        return delayMillis;
+    }
+
+    private <T> CompletableFuture<T> firstSuccessful(Attempt<T> primary, Attempt<T> hedge) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        primary.result.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    hedge.cancel();
+                }
+            } else if (failed.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        hedge.result.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) {
+                    hedgeWins.increment();
+                    primary.cancel();
+                }
+            } else if (failed.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        return winner;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, Attempt<?>... attempts) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            for (Attempt<?> attempt : attempts) {
+                attempt.cancel();
+            }
+            Thread.currentThread().interrupt();
+            throw new GitHubApiException("Interrupted while waiting for GitHub API", e);
+        }
+    }
+
+    private synchronized void recordLatency(long millis) {
+        latencies[position] = millis;
+        position = (position + 1) % WINDOW_SIZE;
+        samples++;
+        if (samples >= MIN_SAMPLES && samples % RECOMPUTE_INTERVAL == 0) {
+            long[] window = Arrays.copyOf(latencies, Math.min(samples, WINDOW_SIZE));
+            Arrays.sort(window);
+            long threshold = window[(int) Math.ceil(percentile * window.length) - 1];
+            delayMillis = Math.max(minDelayMillis, threshold);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new GitHubApiException("Error fetching repositories from GitHub", cause);
+    }
+
+    /**
+     * One attempt of a call, running on its own virtual thread under its own {@link UpstreamTimer}.
+     */
+    private final class Attempt<T> {
+
+        private final UpstreamTimer timer;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Thread thread;
+
+        Attempt(Supplier<T> call, UpstreamTimer parent, boolean hedge) {
+            this.timer = new UpstreamTimer(parent, hedge);
+            this.thread = Thread.ofVirtual().start(() -> {
+                try {
+                    T value = timer.run(call);
+                    recordLatency(timer.elapsedMillis());
+                    result.complete(value);
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+
+        /**
+         * Interrupts the attempt if it is still running, so a losing request does not hold its connection.
+         */
+        void cancel() {
+            if (!result.isDone()) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("github.client.hedging.delay", this, RequestHedger::delayMillis)
+                .description("Latency after which a GitHub call is hedged")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("github.client.hedging.calls", calls, LongAdder::doubleValue)
+                .description("GitHub calls eligible for hedging")
+                .register(registry);
+        FunctionCounter.builder("github.client.hedging.hedges", hedges, LongAdder::doubleValue)
+                .description("Hedged requests sent")
+                .register(registry);
+        FunctionCounter.builder("github.client.hedging.wins", hedgeWins, LongAdder::doubleValue)
+                .description("Hedged requests that completed before the original request")
+                .register(registry);
+    }
+}
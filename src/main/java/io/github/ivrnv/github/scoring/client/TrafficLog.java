@@ -0,0 +1,282 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Append-only file of recorded GitHub exchanges.
+ * <p>
+ * After an 8-byte file header, every exchange is one record framed as {@code [length][crc32][payload]} like the
+ * records of {@code DiskPageStore}, and written with a single positional write. A record torn by a crash or a
+ * failed write fails its length or checksum check: {@link #read} stops there, and {@link #append} truncates the
+ * file there before writing again, so later records never follow a torn one. Response bodies are deflated; the JSON
+ * of a search page shrinks to a fraction of its size.
+ */
+final class TrafficLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficLog.class);
+    private static final int MAGIC = 0x47485452;
+    private static final int VERSION = 2;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    // Far above any deflated search page; a larger length can only come from a torn record
+    static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * One recorded exchange. Request headers are not recorded, so tokens never reach the file.
+     *
+     * @param recordedAtMillis when the request was sent
+     * @param durationMicros   time until the response body was read
+     * @param method           request method
+     * @param uri              request path and query
+     * @param conditional      whether the request carried {@code If-None-Match} or {@code If-Modified-Since}
+     * @param requestBody      request body, empty for GET requests
+     * @param status           response status
+     * @param headers          response headers
+     * @param body             response body
+     */
+    record Exchange(long recordedAtMillis, long durationMicros, String method, String uri, boolean conditional,
+                    byte[] requestBody, int status, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    private final FileChannel channel;
+    // Offset after the last complete record
+    private long end;
+    private boolean failed;
+
+    private TrafficLog(FileChannel channel, long end) {
+        this.channel = channel;
+        this.end = end;
+    }
+
+    /**
+     * Opens a log for appending, creating it if it does not exist and truncating it after the last intact record.
+     *
+     * @throws IOException if the file cannot be opened or is not a traffic log
+     */
+    static TrafficLog append(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long end;
+            if (channel.size() < FILE_HEADER_SIZE) {
+                // New file, or one torn while its header was written
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                channel.truncate(0);
+                writeFully(channel, header, 0);
+                end = FILE_HEADER_SIZE;
+            } else {
+                end = scan(channel, file, null);
+                if (end < channel.size()) {
+                    logger.warn("Truncating traffic log {} at offset {} after a torn record", file, end);
+                    channel.truncate(end);
+                }
+            }
+            return new TrafficLog(channel, end);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads all intact records of a log, up to the first torn one.
+     *
+     * @throws IOException if the file cannot be read or is not a traffic log
+     */
+    static List<Exchange> read(Path file) throws IOException {
+        List<byte[]> payloads = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = scan(channel, file, payloads);
+            if (end < channel.size()) {
+                logger.warn("Ignoring traffic log {} after a torn record at offset {}", file, end);
+            }
+        }
+        List<Exchange> exchanges = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) {
+            exchanges.add(decode(payload));
+        }
+        return exchanges;
+    }
+
+    /**
+     * Appends one exchange. If the write fails, the partial record is cut off again so the next one follows the
+     * last complete record.
+     *
+     * @throws IOException if the exchange could not be written, or an earlier partial record could not be cut off
+     */
+    synchronized void write(Exchange exchange) throws IOException {
+        if (failed) {
+            throw new IOException("Traffic log is not writable after a failed write");
+        }
+        byte[] payload = encode(exchange);
+        if (payload.length > MAX_RECORD_SIZE) {
+            throw new IOException("Exchange of " + payload.length + " bytes exceeds the maximum record size");
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt(crc(payload))
+                .put(payload)
+                .flip();
+        try {
+            writeFully(channel, record, end);
+        } catch (IOException e) {
+            try {
+                channel.truncate(end);
+            } catch (IOException truncation) {
+                failed = true;
+                e.addSuppressed(truncation);
+            }
+            throw e;
+        }
+        end += record.limit();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Checks the file header and walks the records up to the end of the file or the first one whose length or
+     * checksum does not match.
+     *
+     * @param payloads receives the payloads of the intact records, may be null
+     * @return the offset after the last intact record
+     */
+    private static long scan(FileChannel channel, Path file, List<byte[]> payloads) throws IOException {
+        long size = channel.size();
+        ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        if (size < FILE_HEADER_SIZE || !readFully(channel, fileHeader, 0)
+                || fileHeader.getInt(0) != MAGIC || fileHeader.getInt(4) != VERSION) {
+            throw new IOException("Not a traffic log of version " + VERSION + ": " + file);
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        long position = FILE_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= size) {
+            header.clear();
+            if (!readFully(channel, header, position)) {
+                break;
+            }
+            int length = header.getInt(0);
+            if (length < 0 || length > MAX_RECORD_SIZE || position + RECORD_HEADER_SIZE + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            if (!readFully(channel, payload, position + RECORD_HEADER_SIZE)
+                    || crc(payload.array()) != header.getInt(4)) {
+                break;
+            }
+            if (payloads != null) {
+                payloads.add(payload.array());
+            }
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    /**
+     * @return false if the file ended before the buffer was full
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Exchange exchange) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(exchange.body().length / 4 + 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(exchange.recordedAtMillis());
+        out.writeLong(exchange.durationMicros());
+        out.writeUTF(exchange.method());
+        out.writeUTF(exchange.uri());
+        out.writeBoolean(exchange.conditional());
+        out.writeInt(exchange.requestBody().length);
+        out.write(exchange.requestBody());
+        out.writeShort(exchange.status());
+        int values = exchange.headers().values().stream().mapToInt(List::size).sum();
+        out.writeShort(values);
+        for (Map.Entry<String, List<String>> header : exchange.headers().entrySet()) {
+            for (String value : header.getValue()) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(value);
+            }
+        }
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(exchange.body().length / 4 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflating = new DeflaterOutputStream(deflated, deflater)) {
+            deflating.write(exchange.body());
+        } finally {
+            deflater.end();
+        }
+        out.writeInt(deflated.size());
+        deflated.writeTo(out);
+        return bytes.toByteArray();
+    }
+
+    private static Exchange decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long recordedAtMillis = in.readLong();
+        long durationMicros = in.readLong();
+        String method = in.readUTF();
+        String uri = in.readUTF();
+        boolean conditional = in.readBoolean();
+        byte[] requestBody = new byte[in.readInt()];
+        in.readFully(requestBody);
+        int status = in.readUnsignedShort();
+        int values = in.readUnsignedShort();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < values; i++) {
+            String name = in.readUTF();
+            String value = in.readUTF();
+            headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        byte[] deflated = new byte[in.readInt()];
+        in.readFully(deflated);
+        byte[] body;
+        try (InputStream inflating = new InflaterInputStream(new ByteArrayInputStream(deflated))) {
+            body = inflating.readAllBytes();
+        }
+        return new Exchange(recordedAtMillis, durationMicros, method, uri, conditional, requestBody, status,
+                headers, body);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.ivrnv.github.scoring.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long a GitHub call takes without the time it waited for a rate-limit slot.
+ * <p>
+ * The {@link GitHubCircuitBreaker} and the {@link RequestHedger} run calls under a timer, and the
+ * {@link RateLimitGovernor} reports pacing to the timer of the current thread before it sleeps. Timers nest:
+ * pacing is also reported to the timers a timer was created under, so the breaker sees the pacing of attempts
+ * the hedger runs on other threads.
+ */
+final class UpstreamTimer {
+
+    private static final ThreadLocal<UpstreamTimer> CURRENT = new ThreadLocal<>();
+
+    private final UpstreamTimer parent;
+    private final boolean hedge;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong pacedNanos = new AtomicLong();
+
+    /**
+     * @param parent timer the call runs under, or null
+     * @param hedge  whether the call is a hedged duplicate, which must not wait for a rate-limit slot
+     */
+    UpstreamTimer(UpstreamTimer parent, boolean hedge) {
+        this.parent = parent;
+        this.hedge = hedge;
+    }
+
+    /**
+     * @return timer of the call running on the current thread, or null
+     */
+    static UpstreamTimer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return whether the call running on the current thread is a hedged duplicate
+     */
+    static boolean isHedge() {
+        UpstreamTimer timer = CURRENT.get();
+        return timer != null && timer.hedge;
+    }
+
+    /**
+     * Reports that the call running on the current thread is about to wait for a rate-limit slot.
+     */
+    static void pacing(long delayMillis) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        for (UpstreamTimer timer = CURRENT.get(); timer != null; timer = timer.parent) {
+            timer.pacedNanos.addAndGet(nanos);
+        }
+    }
+
+    /**
+     * Runs a call on the current thread under this timer.
+     */
+    <T> T run(Supplier<T> call) {
+        UpstreamTimer previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * @return milliseconds since the timer was created, minus pacing
+     */
+    long elapsedMillis() {
+        long elapsed = System.nanoTime() - startNanos - pacedNanos.get();
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+}
@@ -1,9 +1,14 @@
 package io.github.ivrnv.github.scoring.controller;
 
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.model.LanguageDistribution;
 import io.github.ivrnv.github.scoring.model.Page;
 import io.github.ivrnv.github.scoring.model.ScoredRepository;
+import io.github.ivrnv.github.scoring.service.PageRange;
 import io.github.ivrnv.github.scoring.service.PageRequest;
 import io.github.ivrnv.github.scoring.service.RepositoryScoreService;
+import io.github.ivrnv.github.scoring.service.ScoringWeights;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -31,6 +36,11 @@ public class RepositoryScoreController {
     
     private static final Logger logger = LoggerFactory.getLogger(RepositoryScoreController.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    // GitHub search returns at most 1000 results, i.e. 10 pages of the maximum size
+    private static final int MAX_PAGES_PER_REQUEST = 10;
+    // Ranking by score keeps every repository up to the requested page in memory
+    private static final int MAX_RANKED_RESULTS = 10_000;
+    static final String CRAWL_TRUNCATED_HEADER = "X-Crawl-Truncated";
     
     private final RepositoryScoreService repositoryScoreService;
 
@@ -38,21 +48,57 @@ public class RepositoryScoreController {
         this.repositoryScoreService = repositoryScoreService;
     }
 
+    /**
+     * Returns scored repositories. Any of {@code stars_weight}, {@code forks_weight}, {@code recency_weight} and
+     * {@code max_days_for_recency} replaces the configured scoring parameter for this request only.
+     */
     @GetMapping("/scored")
     public ResponseEntity<Page<ScoredRepository>> getScoredRepositories(
             @RequestParam("language") @NotBlank String language,
             @RequestParam("created_after") @NotBlank @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}") String createdAfter,
             @RequestParam(value = "page", defaultValue = "1") @Min(1) int page,
-            @RequestParam(value = "size", defaultValue = "30") @Min(1) @Max(100) int size
+            @RequestParam(value = "size", defaultValue = "30") @Min(1) @Max(100) int size,
+            @RequestParam(value = "pages", required = false) @Pattern(regexp = "\\d+(-\\d+)?") String pages,
+            @RequestParam(value = "sort", defaultValue = "stars") @Pattern(regexp = "stars|score") String sort,
+            @RequestParam(value = "stars_weight", required = false) @DecimalMin("0") Double starsWeight,
+            @RequestParam(value = "forks_weight", required = false) @DecimalMin("0") Double forksWeight,
+            @RequestParam(value = "recency_weight", required = false) @DecimalMin("0") Double recencyWeight,
+            @RequestParam(value = "max_days_for_recency", required = false) @Min(1) @Max(3650) Long maxDaysForRecency
             ) {
         
-        logger.debug("Received request for scored repositories - language: {}, createdAfter: {}, page: {}, size: {}", 
-                language, createdAfter, page, size);
+        logger.debug("Received request for scored repositories - language: {}, createdAfter: {}, page: {}, size: {}, pages: {}, sort: {}", 
+                language, createdAfter, page, size, pages, sort);
         
         try {
             LocalDate createdAfterDate = LocalDate.parse(createdAfter, DATE_FORMATTER);
-            PageRequest pageRequest = new PageRequest(page, size);
-            Page<ScoredRepository> scoredRepositories = repositoryScoreService.getScoredRepositories(language, createdAfterDate, pageRequest);
+            ScoringWeights weights = starsWeight != null || forksWeight != null
+                    || recencyWeight != null || maxDaysForRecency != null
+                    ? repositoryScoreService.scoringWeights(starsWeight, forksWeight, recencyWeight, maxDaysForRecency)
+                    : null;
+            Page<ScoredRepository> scoredRepositories;
+            if ("score".equals(sort)) {
+                if (pages != null) {
+                    throw new IllegalArgumentException("Page ranges are not supported when sorting by score");
+                }
+                if ((long) page * size > MAX_RANKED_RESULTS) {
+                    throw new IllegalArgumentException(
+                            "Sorting by score is limited to the first " + MAX_RANKED_RESULTS + " repositories");
+                }
+                PageRequest pageRequest = new PageRequest(page, size);
+                scoredRepositories = weights == null
+                        ? repositoryScoreService.getTopScoredRepositories(language, createdAfterDate, pageRequest)
+                        : repositoryScoreService.getTopScoredRepositories(language, createdAfterDate, pageRequest, weights);
+            } else if (pages != null) {
+                PageRange pageRange = parsePageRange(pages, size);
+                scoredRepositories = weights == null
+                        ? repositoryScoreService.getScoredRepositoryRange(language, createdAfterDate, pageRange)
+                        : repositoryScoreService.getScoredRepositoryRange(language, createdAfterDate, pageRange, weights);
+            } else {
+                PageRequest pageRequest = new PageRequest(page, size);
+                scoredRepositories = weights == null
+                        ? repositoryScoreService.getScoredRepositories(language, createdAfterDate, pageRequest)
+                        : repositoryScoreService.getScoredRepositories(language, createdAfterDate, pageRequest, weights);
+            }
             
             logger.debug("Returning {} repositories (total: {})", 
                     scoredRepositories.content().size(), scoredRepositories.totalElements());
@@ -61,9 +107,82 @@ public class RepositoryScoreController {
         } catch (DateTimeParseException e) {
             logger.error("Invalid date format: {}", createdAfter, e);
             return ResponseEntity.badRequest().build();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid request parameters: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (GitHubApiException e) {
+            // Answered with its status by the GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             logger.error("Error processing repository scoring request", e);
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * Crawls and scores all repositories of a language created on or after the given date,
+     * beyond the 1000 results GitHub search returns for a single query.
+     * Crawling issues many upstream calls and is bounded by {@code github.crawler.max-results}. The
+     * {@value #CRAWL_TRUNCATED_HEADER} header tells whether the crawl was cut off before the oldest repositories.
+     * Crawls are cached and limited in number, see {@link RepositoryScoreService#crawlScoredRepositories}.
+     */
+    @GetMapping("/scored/all")
+    public ResponseEntity<Page<ScoredRepository>> crawlScoredRepositories(
+            @RequestParam("language") @NotBlank String language,
+            @RequestParam("created_after") @NotBlank @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}") String createdAfter
+            ) {
+        
+        logger.debug("Received crawl request for scored repositories - language: {}, createdAfter: {}", 
+                language, createdAfter);
+        
+        try {
+            LocalDate createdAfterDate = LocalDate.parse(createdAfter, DATE_FORMATTER);
+            Page<ScoredRepository> scoredRepositories = repositoryScoreService.crawlScoredRepositories(language, createdAfterDate);
+            
+            logger.debug("Returning {} crawled repositories", scoredRepositories.content().size());
+
+            boolean truncated = scoredRepositories.totalElements() > scoredRepositories.content().size();
+            return ResponseEntity.ok()
+                    .header(CRAWL_TRUNCATED_HEADER, String.valueOf(truncated))
+                    .body(scoredRepositories);
+        } catch (DateTimeParseException e) {
+            logger.error("Invalid date format: {}", createdAfter, e);
+            return ResponseEntity.badRequest().build();
+        } catch (GitHubApiException e) {
+            // Answered with its status by the GlobalExceptionHandler
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error processing repository crawl request", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Returns the estimated distribution of stars, forks and popularity scores of the repositories seen for
+     * a language, which {@code percentileRank} of scored repositories is based on.
+     */
+    @GetMapping("/distribution")
+    public ResponseEntity<LanguageDistribution> getLanguageDistribution(
+            @RequestParam("language") @NotBlank String language) {
+        LanguageDistribution distribution = repositoryScoreService.getLanguageDistribution(language);
+        return distribution != null ? ResponseEntity.ok(distribution) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Parses a page range such as {@code 1-5} or a single page such as {@code 3}.
+     *
+     * @throws IllegalArgumentException if the range is empty, starts below 1 or spans too many pages
+     */
+    private static PageRange parsePageRange(String pages, int size) {
+        int separator = pages.indexOf('-');
+        int fromPage = Integer.parseInt(separator < 0 ? pages : pages.substring(0, separator));
+        int toPage = separator < 0 ? fromPage : Integer.parseInt(pages.substring(separator + 1));
+        if (fromPage < 1 || toPage < fromPage) {
+            throw new IllegalArgumentException("Page range must start at 1 or above and must not be empty");
+        }
+        if (toPage - fromPage + 1 > MAX_PAGES_PER_REQUEST) {
+            throw new IllegalArgumentException("Page range must not span more than " + MAX_PAGES_PER_REQUEST + " pages");
+        }
+        return new PageRange(fromPage, toPage, size);
+    }
 }
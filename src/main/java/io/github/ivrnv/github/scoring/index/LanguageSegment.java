@@ -0,0 +1,210 @@
+package io.github.ivrnv.github.scoring.index;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable columnar snapshot of the indexed repositories of one language.
+ * <p>
+ * Every field is a primitive array indexed by row; owner logins and repository names are dictionary-encoded
+ * into one string table. Rows are stored in creation order, which makes the creation-date index a binary
+ * search: the repositories created on or after a date are exactly the rows from its lower bound onwards.
+ * A second array lists row ids by stars, highest first. For each creation-date bound queried, the star order of
+ * the rows from that bound onwards is filtered from it once and kept, so a page in GitHub's search order is a
+ * slice of that order and costs only its size. URLs are not stored; they are derived from owner and name.
+ */
+final class LanguageSegment {
+
+    private static final String GITHUB_URL = "https://github.com/";
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    /**
+     * Star orders kept per segment; queries use few distinct creation dates.
+     */
+    private static final int MAX_SUFFIX_ORDERS = 16;
+
+    private final LocalDate coveredFrom;
+    private final long builtAtMillis;
+    private final String[] dictionary;
+    private final int[] owners;
+    private final int[] names;
+    private final int[] stars;
+    private final int[] forks;
+    private final long[] updatedAt;
+    private final long[] createdAt;
+    private final int[] byStars;
+    private final int maxForks;
+    private final Map<Integer, int[]> suffixOrders = Collections.synchronizedMap(
+            new LinkedHashMap<>(MAX_SUFFIX_ORDERS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+                    return size() > MAX_SUFFIX_ORDERS;
+                }
+            });
+
+    private LanguageSegment(LocalDate coveredFrom, long builtAtMillis, String[] dictionary, int[] owners, int[] names,
+                            int[] stars, int[] forks, long[] updatedAt, long[] createdAt, int[] byStars) {
+        this.coveredFrom = coveredFrom;
+        this.builtAtMillis = builtAtMillis;
+        this.dictionary = dictionary;
+        this.owners = owners;
+        this.names = names;
+        this.stars = stars;
+        this.forks = forks;
+        this.updatedAt = updatedAt;
+        this.createdAt = createdAt;
+        this.byStars = byStars;
+        this.maxForks = Arrays.stream(forks).max().orElse(0);
+    }
+
+    /**
+     * Builds a segment from crawled repositories. Repositories without owner, name or creation time are skipped.
+     *
+     * @param coveredFrom  earliest creation date from which on the repositories are complete
+     * @param repositories crawled repositories, in any order
+     * @return the segment
+     */
+    static LanguageSegment build(LocalDate coveredFrom, List<GitHubApiRepo> repositories) {
+        List<GitHubApiRepo> rows = repositories.stream()
+                .filter(repo -> repo.owner() != null && repo.owner().login() != null
+                        && repo.name() != null && repo.createdAt() != null)
+                .sorted(Comparator.comparing(GitHubApiRepo::createdAt))
+                .toList();
+        int size = rows.size();
+
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] owners = new int[size];
+        int[] names = new int[size];
+        int[] stars = new int[size];
+        int[] forks = new int[size];
+        long[] updatedAt = new long[size];
+        long[] createdAt = new long[size];
+        for (int row = 0; row < size; row++) {
+            GitHubApiRepo repo = rows.get(row);
+            owners[row] = encode(repo.owner().login(), codes, dictionary);
+            names[row] = encode(repo.name(), codes, dictionary);
+            stars[row] = repo.stars();
+            forks[row] = repo.forks();
+            updatedAt[row] = repo.updatedAt() != null ? repo.updatedAt().toEpochSecond() : NO_TIMESTAMP;
+            createdAt[row] = repo.createdAt().toEpochSecond();
+        }
+
+        int[] byStars = IntStream.range(0, size).boxed()
+                .sorted((a, b) -> stars[a] != stars[b]
+                        ? Integer.compare(stars[b], stars[a])
+                        : Integer.compare(forks[b], forks[a]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        return new LanguageSegment(coveredFrom, System.currentTimeMillis(), dictionary.toArray(String[]::new),
+                owners, names, stars, forks, updatedAt, createdAt, byStars);
+    }
+
+    /**
+     * Returns one page of the repositories created on or after a date, ordered by stars, highest first.
+     */
+    GitHubApiResponse search(LocalDate createdAfter, int page, int size) {
+        int[] order = starOrderFrom(lowerBound(createdAfter.atStartOfDay(ZoneOffset.UTC).toEpochSecond()));
+        int matching = order.length;
+        long skip = (long) (page - 1) * size;
+        if (skip >= matching) {
+            return new GitHubApiResponse(matching, false, List.of());
+        }
+
+        int end = (int) Math.min(matching, skip + size);
+        List<GitHubApiRepo> repositories = new ArrayList<>(end - (int) skip);
+        for (int i = (int) skip; i < end; i++) {
+            repositories.add(materialize(order[i]));
+        }
+        return new GitHubApiResponse(matching, false, repositories);
+    }
+
+    /**
+     * @return ids of the rows from {@code from} onwards, by stars, highest first
+     */
+    private int[] starOrderFrom(int from) {
+        if (from == 0) {
+            return byStars;
+        }
+        return suffixOrders.computeIfAbsent(from, bound -> {
+            int[] order = new int[byStars.length - bound];
+            int next = 0;
+            for (int row : byStars) {
+                if (row >= bound) {
+                    order[next++] = row;
+                }
+            }
+            return order;
+        });
+    }
+
+    LocalDate coveredFrom() {
+        return coveredFrom;
+    }
+
+    long builtAtMillis() {
+        return builtAtMillis;
+    }
+
+    int size() {
+        return byStars.length;
+    }
+
+    int maxForks() {
+        return maxForks;
+    }
+
+    /**
+     * @return the first row created at or after the given time
+     */
+    private int lowerBound(long epochSecond) {
+        int index = Arrays.binarySearch(createdAt, epochSecond);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && createdAt[index - 1] == epochSecond) {
+            index--;
+        }
+        return index;
+    }
+
+    private GitHubApiRepo materialize(int row) {
+        String owner = dictionary[owners[row]];
+        String name = dictionary[names[row]];
+        return new GitHubApiRepo(
+                name,
+                new GitHubApiRepo.Owner(owner, GITHUB_URL + owner),
+                GITHUB_URL + owner + "/" + name,
+                stars[row],
+                forks[row],
+                toDateTime(updatedAt[row]),
+                toDateTime(createdAt[row]));
+    }
+
+    private static OffsetDateTime toDateTime(long epochSecond) {
+        return epochSecond == NO_TIMESTAMP
+                ? null
+                : OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<String> dictionary) {
+        return codes.computeIfAbsent(value, v -> {
+            dictionary.add(v);
+            return dictionary.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.ivrnv.github.scoring.index;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+import io.github.ivrnv.github.scoring.service.RepositoryQuery;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded, in-process index of crawled repositories, filled by the {@link RepositoryIndexer}.
+ * <p>
+ * Repositories are held in one columnar {@link LanguageSegment} per language, which also serves as the
+ * language index. A segment is replaced as a whole when a language is re-crawled, so readers never see a
+ * partially built index. A query is answered from the index only if its language is indexed and its creation
+ * date lies within the crawled range; anything else goes to GitHub as before.
+ */
+@Component
+public class RepositoryIndex implements MeterBinder {
+
+    private final Map<String, LanguageSegment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the indexed repositories of a language.
+     *
+     * @param language     language the repositories were crawled for
+     * @param coveredFrom  earliest creation date from which on the crawl holds every repository; queries for
+     *                     earlier dates are not answered from the index
+     * @param repositories crawled repositories
+     */
+    public void replace(String language, LocalDate coveredFrom, List<GitHubApiRepo> repositories) {
+        segments.put(language.trim().toLowerCase(Locale.ROOT), LanguageSegment.build(coveredFrom, repositories));
+    }
+
+    /**
+     * Answers a query from the index.
+     *
+     * @param query normalised query
+     * @return the requested page ordered by stars, or null if the index does not cover the query
+     */
+    public GitHubApiResponse search(RepositoryQuery query) {
+        LanguageSegment segment = covering(query);
+        return segment != null ? segment.search(query.createdAfter(), query.page(), query.size()) : null;
+    }
+
+    /**
+     * Returns an upper bound of the forks of the repositories matching a query.
+     *
+     * @param query normalised query
+     * @return the highest fork count indexed for the language, or -1 if the index does not cover the query
+     */
+    public int maxForks(RepositoryQuery query) {
+        LanguageSegment segment = covering(query);
+        return segment != null ? segment.maxForks() : -1;
+    }
+
+    private LanguageSegment covering(RepositoryQuery query) {
+        if (query.language() == null || query.createdAfter() == null) {
+            return null;
+        }
+        LanguageSegment segment = segments.get(query.language());
+        if (segment == null || query.createdAfter().isBefore(segment.coveredFrom())) {
+            return null;
+        }
+        return segment;
+    }
+
+    private double repositories() {
+        return segments.values().stream().mapToInt(LanguageSegment::size).sum();
+    }
+
+    private double oldestSegmentAgeSeconds() {
+        long now = System.currentTimeMillis();
+        return segments.values().stream()
+                .mapToLong(segment -> now - segment.builtAtMillis())
+                .max()
+                .orElse(0) / 1000.0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("github.index.repositories", this, RepositoryIndex::repositories)
+                .description("Repositories held in the local index")
+                .register(registry);
+        Gauge.builder("github.index.languages", segments, Map::size)
+                .description("Languages held in the local index")
+                .register(registry);
+        Gauge.builder("github.index.age", this, RepositoryIndex::oldestSegmentAgeSeconds)
+                .description("Time since the least recently crawled language was indexed")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
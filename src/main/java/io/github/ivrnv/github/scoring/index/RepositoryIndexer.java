@@ -0,0 +1,102 @@
+package io.github.ivrnv.github.scoring.index;
+
+import io.github.ivrnv.github.scoring.client.CrawlResult;
+import io.github.ivrnv.github.scoring.client.RepositoryCrawler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background ingestion that crawls the configured languages into the {@link RepositoryIndex}.
+ * <p>
+ * Each language is crawled with the {@link RepositoryCrawler} from {@code github.index.created-after} to today
+ * and swapped into the index as a new segment. If a crawl fails the previous segment keeps being served. A crawl
+ * cut off at {@code github.crawler.max-results} is complete only from a later creation date on; the segment then
+ * covers queries from that date only, and earlier ones go to GitHub.
+ * Crawls are paced by the rate limit and can take hours, so they run on a thread of their own rather than on
+ * the shared scheduler, where they would hold up cache refreshes and access log flushes.
+ */
+@Component
+public class RepositoryIndexer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryIndexer.class);
+
+    private final RepositoryCrawler repositoryCrawler;
+    private final RepositoryIndex repositoryIndex;
+    private final boolean enabled;
+    private final List<String> languages;
+    private final LocalDate createdAfter;
+    private final long initialDelayMillis;
+    private final long refreshIntervalMillis;
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("index-crawl-"));
+
+    public RepositoryIndexer(
+            RepositoryCrawler repositoryCrawler,
+            RepositoryIndex repositoryIndex,
+            @Value("${github.index.enabled:false}") boolean enabled,
+            @Value("${github.index.languages:}") List<String> languages,
+            @Value("${github.index.created-after:2024-01-01}") String createdAfter,
+            @Value("${github.index.initial-delay:0}") long initialDelayMillis,
+            @Value("${github.index.refresh-interval:3600000}") long refreshIntervalMillis) {
+        this.repositoryCrawler = repositoryCrawler;
+        this.repositoryIndex = repositoryIndex;
+        this.enabled = enabled;
+        this.languages = languages.stream().map(String::trim).filter(language -> !language.isEmpty()).toList();
+        this.createdAfter = LocalDate.parse(createdAfter);
+        this.initialDelayMillis = initialDelayMillis;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+    }
+
+    /**
+     * Schedules the crawls once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::ingest, initialDelayMillis, refreshIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Crawls every configured language and replaces its segment in the index.
+     */
+    public void ingest() {
+        if (!enabled) {
+            return;
+        }
+        for (String language : languages) {
+            try {
+                long start = System.currentTimeMillis();
+                CrawlResult crawl = repositoryCrawler.crawl(language, createdAfter);
+                if (crawl.completedFrom() == null) {
+                    logger.warn("Crawl of {} repositories covered no creation date completely, keeping the previous "
+                            + "index; raise github.crawler.max-results to index it", language);
+                    continue;
+                }
+                repositoryIndex.replace(language, crawl.completedFrom(), crawl.repositories());
+                logger.info("Indexed {} {} repositories created since {} in {}ms",
+                        crawl.repositories().size(), language, crawl.completedFrom(),
+                        System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to index {} repositories, keeping the previous index", language, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.ivrnv.github.scoring.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Cardinality guard for the {@code language} tag of metrics.
+ * <p>
+ * Languages come straight from request parameters, so every misspelling would otherwise create new time series.
+ * Only widely used languages, the languages in {@code github.index.languages} and those in
+ * {@code github.metrics.languages} keep their own tag value; all others are reported as {@value #OTHER}. The
+ * allowed languages are fixed at startup, so early requests cannot take tag values away from real traffic.
+ */
+@Component
+public class LanguageTags {
+
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    static final List<String> COMMON_LANGUAGES = List.of(
+            "c", "c#", "c++", "css", "dart", "go", "html", "java", "javascript", "kotlin", "php", "python", "ruby",
+            "rust", "scala", "shell", "swift", "typescript");
+
+    private final Set<String> languages;
+
+    public LanguageTags(
+            @Value("${github.metrics.languages:}") List<String> languages,
+            @Value("${github.index.languages:}") List<String> indexLanguages) {
+        Set<String> allowed = new HashSet<>();
+        Stream.of(COMMON_LANGUAGES, languages, indexLanguages)
+                .flatMap(List::stream)
+                .map(LanguageTags::normalise)
+                .filter(language -> !language.isEmpty())
+                .forEach(allowed::add);
+        this.languages = Set.copyOf(allowed);
+    }
+
+    /**
+     * @param language language as requested, may be null
+     * @return the tag value to report the language under
+     */
+    public String of(String language) {
+        if (language == null || language.isBlank()) {
+            return NONE;
+        }
+        String tag = normalise(language);
+        return languages.contains(tag) ? tag : OTHER;
+    }
+
+    private static String normalise(String language) {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.ivrnv.github.scoring.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers and distributions of the GitHub client and the scoring layer, tagged by language through
+ * {@link LanguageTags}. SLO buckets of the timers and distributions are configured under
+ * {@code management.metrics.distribution.slo}.
+ * <p>
+ * Meters are looked up in the registry the binder was bound to; until then nothing is recorded.
+ */
+@Component
+public class RequestMetrics implements MeterBinder {
+
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final LanguageTags languageTags;
+    // No-op until bound: a composite registry without children records nothing
+    private volatile MeterRegistry registry = new CompositeMeterRegistry();
+
+    public RequestMetrics(LanguageTags languageTags) {
+        this.languageTags = languageTags;
+    }
+
+    /**
+     * @return metrics that record nothing, for components used outside the application context
+     */
+    public static RequestMetrics unbound() {
+        return new RequestMetrics(new LanguageTags(List.of(), List.of()));
+    }
+
+    /**
+     * Records a completed search of the GitHub client, including any hedged duplicate request.
+     *
+     * @param status        status GitHub answered with, or null if no response arrived
+     * @param durationNanos time the caller waited
+     */
+    public void recordFetch(String language, HttpStatusCode status, long durationNanos) {
+        String languageTag = languageTags.of(language);
+        String statusTag = status != null ? Integer.toString(status.value()) : IO_ERROR;
+        Timer.builder("github.client.requests")
+                .description("Repository searches of the GitHub client")
+                .tag("language", languageTag)
+                .tag("status", statusTag)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (status == null || status.isError()) {
+            Counter.builder("github.client.errors")
+                    .description("Failed repository searches of the GitHub client")
+                    .tag("language", languageTag)
+                    .tag("status", statusTag)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    /**
+     * Records a search result page received from GitHub.
+     *
+     * @param bytes size of the response body, or a negative value if unknown
+     * @param items repositories on the page
+     */
+    public void recordPage(String language, long bytes, int items) {
+        String languageTag = languageTags.of(language);
+        if (bytes >= 0) {
+            DistributionSummary.builder("github.client.response.size")
+                    .description("Body size of search pages received from GitHub")
+                    .baseUnit("bytes")
+                    .tag("language", languageTag)
+                    .register(registry)
+                    .record(bytes);
+        }
+        DistributionSummary.builder("github.client.response.items")
+                .description("Repositories per search page received from GitHub")
+                .tag("language", languageTag)
+                .register(registry)
+                .record(items);
+    }
+
+    /**
+     * Records scoring a batch of repositories.
+     *
+     * @param items         repositories scored
+     * @param durationNanos time scoring took
+     */
+    public void recordScoring(String language, int items, long durationNanos) {
+        String languageTag = languageTags.of(language);
+        Timer.builder("github.scoring.batch")
+                .description("Scoring of a batch of repositories")
+                .tag("language", languageTag)
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("github.scoring.batch.size")
+                .description("Repositories per scored batch")
+                .tag("language", languageTag)
+                .register(registry)
+                .record(items);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+}
@@ -22,13 +22,39 @@ public record GitHubRepository(
      * @throws InvalidRepositoryDataException if any invariant is violated
      */
     public GitHubRepository {
+        validate(stars, forks, updatedAt);
+    }
+
+    /**
+     * Checks repository data invariants without creating a record,
+     * for callers that score raw values directly.
+     *
+     * @param stars number of repository stars (must be non-negative)
+     * @param forks number of repository forks (must be non-negative)
+     * @param updatedAt date of last repository update (must not be in the future)
+     * @throws InvalidRepositoryDataException if any invariant is violated
+     */
+    public static void validate(int stars, int forks, OffsetDateTime updatedAt) {
+        validate(stars, forks, updatedAt, OffsetDateTime.now().toEpochSecond());
+    }
+
+    /**
+     * Checks repository data invariants against a clock snapshot taken once per request.
+     *
+     * @param stars          number of repository stars (must be non-negative)
+     * @param forks          number of repository forks (must be non-negative)
+     * @param updatedAt      date of last repository update (must not be after the snapshot)
+     * @param nowEpochSecond current time in epoch seconds
+     * @throws InvalidRepositoryDataException if any invariant is violated
+     */
+    public static void validate(int stars, int forks, OffsetDateTime updatedAt, long nowEpochSecond) {
         if (stars < 0) {
             throw new InvalidRepositoryDataException("Stars count cannot be negative: " + stars);
         }
         if (forks < 0) {
             throw new InvalidRepositoryDataException("Forks count cannot be negative: " + forks);
         }
-        if (updatedAt != null && updatedAt.isAfter(OffsetDateTime.now())) {
+        if (updatedAt != null && updatedAt.toEpochSecond() > nowEpochSecond) {
             throw new InvalidRepositoryDataException("Update date cannot be in the future: " + updatedAt);
         }
     }
@@ -0,0 +1,23 @@
+package io.github.ivrnv.github.scoring.model;
+
+/**
+ * Estimated distribution of stars, forks and popularity scores of the repositories seen for one language.
+ */
+public record LanguageDistribution(
+    String language,
+    long repositories,
+    Quantiles stars,
+    Quantiles forks,
+    Quantiles popularityScore
+) {
+    /**
+     * Estimated values at common quantiles, each within 2% of the true value.
+     */
+    public record Quantiles(
+        double p25,
+        double p50,
+        double p75,
+        double p90,
+        double p99
+    ) {}
+}
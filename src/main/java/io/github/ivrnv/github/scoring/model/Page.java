@@ -18,4 +18,16 @@ public record Page<T>(
         int totalPages = pageSize > 0 ? (int) Math.ceil((double) totalElements / pageSize) : 0;
         return new Page<>(content, pageNumber, pageSize, totalElements, totalPages);
     }
+
+    /**
+     * Creates a page for a source that only lets clients page through the first {@code reachableElements}
+     * results. {@code totalElements} still reports the full count, but {@code totalPages} only covers
+     * pages that can actually be fetched.
+     */
+    public static <T> Page<T> of(List<T> content, int pageNumber, int pageSize, long totalElements,
+                                 long reachableElements) {
+        long pageableElements = Math.min(totalElements, reachableElements);
+        int totalPages = pageSize > 0 ? (int) Math.ceil((double) pageableElements / pageSize) : 0;
+        return new Page<>(content, pageNumber, pageSize, totalElements, totalPages);
+    }
 }
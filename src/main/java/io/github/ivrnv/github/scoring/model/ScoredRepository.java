@@ -5,6 +5,8 @@ import java.time.OffsetDateTime;
 /**
  * Model representing a GitHub repository with its calculated popularity score.
  * This is the main object returned by the service layer.
+ * {@code percentileRank} places the score among the repositories seen for the same language (0-100), and is null
+ * if too few of them were seen or the score was calculated with custom weights.
  */
 public record ScoredRepository(
     String name,
@@ -13,6 +15,11 @@ public record ScoredRepository(
     int stars,
     int forks,
     OffsetDateTime lastUpdated,
-    double popularityScore
+    double popularityScore,
+    Double percentileRank
 ) {
+    public ScoredRepository(String name, String owner, String url, int stars, int forks,
+                            OffsetDateTime lastUpdated, double popularityScore) {
+        this(name, owner, url, stars, forks, lastUpdated, popularityScore, null);
+    }
 }
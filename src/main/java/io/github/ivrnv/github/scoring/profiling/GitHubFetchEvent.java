@@ -0,0 +1,40 @@
+package io.github.ivrnv.github.scoring.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One search call to GitHub, from sending the request until the response is decoded.
+ * Hedged requests show up as two overlapping events of the same query.
+ */
+@Name("io.github.ivrnv.github.scoring.GitHubFetch")
+@Label("GitHub Fetch")
+@Description("Search call to GitHub")
+@Category({"GitHub Scoring", "Upstream"})
+@StackTrace(false)
+public class GitHubFetchEvent extends Event {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Page")
+    public int page;
+
+    @Label("Page Size")
+    public int size;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Response Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,123 @@
+package io.github.ivrnv.github.scoring.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ivrnv.github.scoring.model.Page;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Emits a {@link ResponseWriteEvent} for every JSON response body written by Spring MVC.
+ * <p>
+ * The Jackson converter Spring Boot configures is replaced by a subclass using the same {@link ObjectMapper}, so
+ * serialization itself is unchanged. Bytes are only counted while the event is enabled in a running recording.
+ */
+@Configuration
+public class ProfilingConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof ProfiledJsonConverter)) {
+                converters.set(i, new ProfiledJsonConverter(jackson.getObjectMapper()));
+            }
+        }
+    }
+
+    static final class ProfiledJsonConverter extends MappingJackson2HttpMessageConverter {
+
+        ProfiledJsonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            ResponseWriteEvent event = new ResponseWriteEvent();
+            if (!event.isEnabled()) {
+                super.writeInternal(object, type, outputMessage);
+                return;
+            }
+            event.begin();
+            CountingOutputMessage counting = new CountingOutputMessage(outputMessage);
+            super.writeInternal(object, type, counting);
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = object.getClass().getSimpleName();
+                event.items = items(object);
+                event.bytes = counting.count();
+                event.commit();
+            }
+        }
+
+        private static int items(Object body) {
+            if (body instanceof Page<?> page) {
+                return page.content().size();
+            }
+            return body instanceof Collection<?> collection ? collection.size() : 0;
+        }
+    }
+
+    /**
+     * Output message counting the bytes written to its body.
+     */
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private CountingOutputStream body;
+
+        CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingOutputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        long count() {
+            return body != null ? body.count : 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
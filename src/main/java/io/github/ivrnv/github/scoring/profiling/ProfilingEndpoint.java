@@ -0,0 +1,175 @@
+package io.github.ivrnv.github.scoring.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint that captures a JDK Flight Recorder profile of the running service.
+ * <p>
+ * {@code POST /actuator/profiling} starts a recording with the JDK settings named by {@code github.profiling.settings}
+ * plus the events of this package, {@code GET /actuator/profiling/recording.jfr} downloads what was recorded so far
+ * and {@code DELETE /actuator/profiling} stops it. Only one recording runs at a time. It stops by itself after
+ * {@code github.profiling.max-duration}, and the data it keeps is bounded by {@code github.profiling.max-size}, so a
+ * forgotten recording cannot fill the disk.
+ * <p>
+ * The endpoint is not exposed over HTTP by default since it is unauthenticated. Recordings leave out the JVM
+ * arguments, system properties and environment variables, which hold the GitHub tokens.
+ */
+@Component
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingEndpoint.class);
+    static final String DUMP_NAME = "recording.jfr";
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+            GitHubFetchEvent.class, SearchDecodeEvent.class, ScoringEvent.class, ResponseWriteEvent.class);
+    static final List<String> SECRET_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final Duration maxDuration;
+    private final long maxSize;
+    private final String settings;
+    private Recording recording;
+    private Path lastDump;
+
+    public ProfilingEndpoint(
+            @Value("${github.profiling.max-duration:600000}") long maxDurationMillis,
+            @Value("${github.profiling.max-size:104857600}") long maxSize,
+            @Value("${github.profiling.settings:profile}") String settings) {
+        if (maxDurationMillis <= 0 || maxSize <= 0) {
+            throw new IllegalArgumentException("Profiling duration and size limits must be positive");
+        }
+        this.maxDuration = Duration.ofMillis(maxDurationMillis);
+        this.maxSize = maxSize;
+        this.settings = settings;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : RecordingState.NEW.name());
+        if (recording != null) {
+            status.put("startedAt", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+            status.put("duration", recording.getDuration() != null ? recording.getDuration().toString() : null);
+            status.put("size", recording.getSize());
+        }
+        status.put("maxDuration", maxDuration.toString());
+        status.put("maxSize", maxSize);
+        return status;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param durationSeconds how long to record, capped at the configured maximum; the maximum if omitted
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        if (durationSeconds != null && durationSeconds <= 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration duration = durationSeconds != null && durationSeconds < maxDuration.toSeconds()
+                ? Duration.ofSeconds(durationSeconds)
+                : maxDuration;
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            logger.error("Could not load JFR settings '{}'", settings, e);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+        started.setName("github-scoring");
+        started.setToDisk(true);
+        started.setMaxSize(maxSize);
+        started.setDuration(duration);
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) {
+            started.enable(event);
+        }
+        for (String event : SECRET_EVENTS) {
+            started.disable(event);
+        }
+        started.start();
+
+        closeRecording();
+        recording = started;
+        logger.info("Started JFR recording for {} with settings '{}'", duration, settings);
+        return new WebEndpointResponse<>(status());
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        recording.stop();
+        logger.info("Stopped JFR recording");
+        return new WebEndpointResponse<>(status());
+    }
+
+    /**
+     * Dumps the data of the current or last recording to a file and returns it. Earlier dumps are deleted.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String name) throws IOException {
+        if (!DUMP_NAME.equals(name) || recording == null || recording.getState() == RecordingState.NEW) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        deleteLastDump();
+        Path file = Files.createTempFile("github-scoring-", ".jfr");
+        recording.dump(file);
+        lastDump = file;
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+
+    @Override
+    public synchronized void close() {
+        closeRecording();
+        deleteLastDump();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteLastDump() {
+        if (lastDump != null) {
+            try {
+                Files.deleteIfExists(lastDump);
+            } catch (IOException e) {
+                logger.warn("Could not delete JFR dump {}", lastDump, e);
+            }
+            lastDump = null;
+        }
+    }
+}
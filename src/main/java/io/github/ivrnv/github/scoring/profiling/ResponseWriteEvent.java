@@ -0,0 +1,30 @@
+package io.github.ivrnv.github.scoring.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Serialization of a JSON response body to the client.
+ */
+@Name("io.github.ivrnv.github.scoring.ResponseWrite")
+@Label("Response Write")
+@Description("Serialization of a JSON response body")
+@Category({"GitHub Scoring", "Web"})
+@StackTrace(false)
+public class ResponseWriteEvent extends Event {
+
+    @Label("Body Type")
+    public String type;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bytes;
+}
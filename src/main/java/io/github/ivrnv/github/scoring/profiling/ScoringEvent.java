@@ -0,0 +1,28 @@
+package io.github.ivrnv.github.scoring.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Scoring of a page or crawl of repositories.
+ */
+@Name("io.github.ivrnv.github.scoring.Scoring")
+@Label("Scoring")
+@Description("Scoring of a batch of repositories")
+@Category({"GitHub Scoring", "Service"})
+@StackTrace(false)
+public class ScoringEvent extends Event {
+
+    @Label("Language")
+    public String language;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Custom Weights")
+    public boolean customWeights;
+}
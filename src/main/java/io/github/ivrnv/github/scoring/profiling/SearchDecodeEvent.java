@@ -0,0 +1,30 @@
+package io.github.ivrnv.github.scoring.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Decoding of a GitHub search response body, part of a {@link GitHubFetchEvent}.
+ */
+@Name("io.github.ivrnv.github.scoring.SearchDecode")
+@Label("Search Response Decode")
+@Description("Decoding of a GitHub search response body")
+@Category({"GitHub Scoring", "Upstream"})
+@StackTrace(false)
+public class SearchDecodeEvent extends Event {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Response Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,128 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.client.RateLimitGovernor;
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fills the page cache with popular queries before the instance takes traffic.
+ * <p>
+ * Queries come from the static {@code github.warmup.queries} list followed by the most frequent ones of the
+ * {@link QueryAccessLog}, at most {@code max-queries} in total. Spring Boot only reports readiness once all
+ * application runners have completed, so the instance joins the load balancer with the pages already cached.
+ * GitHub calls go through the rate-limit governor as usual. Warm-up stops early rather than delaying startup or
+ * spending the budget traffic needs: once less than {@code budget-reserve} of the rate-limit budget is left, once
+ * {@code deadline} has passed, and when GitHub rejects calls for budget or the circuit breaker is open.
+ * <p>
+ * Static queries are written as {@code language/created_after[/page[/size]]}, e.g. {@code java/2024-01-01/1/30}.
+ */
+@Component
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+    private static final int DEFAULT_PAGE_SIZE = 30;
+
+    private final RepositoryScoreService repositoryScoreService;
+    private final QueryAccessLog queryAccessLog;
+    private final RateLimitGovernor rateLimitGovernor;
+    private final boolean enabled;
+    private final List<RepositoryQuery> staticQueries;
+    private final int maxQueries;
+    private final double budgetReserve;
+    private final long deadlineMillis;
+
+    public CacheWarmer(
+            RepositoryScoreService repositoryScoreService,
+            QueryAccessLog queryAccessLog,
+            RateLimitGovernor rateLimitGovernor,
+            @Value("${github.warmup.enabled:true}") boolean enabled,
+            @Value("${github.warmup.queries:}") List<String> staticQueries,
+            @Value("${github.warmup.max-queries:50}") int maxQueries,
+            @Value("${github.warmup.budget-reserve:0.5}") double budgetReserve,
+            @Value("${github.warmup.deadline:60000}") long deadlineMillis) {
+        if (budgetReserve < 0 || budgetReserve > 1) {
+            throw new IllegalArgumentException("Warm-up budget reserve must be between 0 and 1");
+        }
+        this.repositoryScoreService = repositoryScoreService;
+        this.queryAccessLog = queryAccessLog;
+        this.rateLimitGovernor = rateLimitGovernor;
+        this.enabled = enabled;
+        this.staticQueries = staticQueries.stream()
+                .filter(spec -> !spec.isBlank())
+                .map(CacheWarmer::parse)
+                .toList();
+        this.maxQueries = maxQueries;
+        this.budgetReserve = budgetReserve;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        Set<RepositoryQuery> queries = new LinkedHashSet<>(staticQueries);
+        queries.addAll(queryAccessLog.topQueries(maxQueries));
+
+        long start = System.currentTimeMillis();
+        int warmed = 0;
+        for (RepositoryQuery query : queries.stream().limit(maxQueries).toList()) {
+            if (System.currentTimeMillis() - start >= deadlineMillis) {
+                logger.warn("Stopping cache warm-up after {} queries: deadline of {}ms reached",
+                        warmed, deadlineMillis);
+                break;
+            }
+            double remainingShare = rateLimitGovernor.remainingShare();
+            if (remainingShare < budgetReserve) {
+                logger.warn("Stopping cache warm-up after {} queries: {}% of the rate-limit budget left",
+                        warmed, Math.round(remainingShare * 100));
+                break;
+            }
+            try {
+                repositoryScoreService.warm(query);
+                warmed++;
+            } catch (GitHubApiException e) {
+                if (isBudgetOrOutage(e)) {
+                    logger.warn("Stopping cache warm-up after {} queries: {}", warmed, e.getMessage());
+                    break;
+                }
+                logger.warn("Failed to warm up query: {}", query, e);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping invalid warm-up query: {} ({})", query, e.getMessage());
+            }
+        }
+        if (!queries.isEmpty()) {
+            logger.info("Warmed up {} of {} queries in {}ms", warmed, Math.min(queries.size(), maxQueries),
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    private static boolean isBudgetOrOutage(GitHubApiException e) {
+        return e.getStatusCode() != null
+                && (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    static RepositoryQuery parse(String spec) {
+        String[] parts = spec.trim().split("/");
+        if (parts.length < 2 || parts.length > 4) {
+            throw new IllegalArgumentException("Warm-up query must be language/created_after[/page[/size]]: " + spec);
+        }
+        PageRequest pageable = new PageRequest(
+                parts.length > 2 ? Integer.parseInt(parts[2]) : 1,
+                parts.length > 3 ? Integer.parseInt(parts[3]) : DEFAULT_PAGE_SIZE);
+        return RepositoryQuery.of(parts[0], LocalDate.parse(parts[1]), pageable);
+    }
+}
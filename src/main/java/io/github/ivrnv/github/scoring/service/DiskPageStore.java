@@ -0,0 +1,426 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.client.Fnv1a;
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Second cache tier that keeps raw search pages in a memory-mapped file, so they survive restarts without
+ * occupying the Java heap.
+ * <p>
+ * The file is an append-only log of records, each framed as {@code [length][crc32][payload]}. The length is
+ * written last and acts as the commit marker: a record torn by a crash has no length or fails its checksum,
+ * and the log is truncated there when the file is opened again. Only an index from query hash to record
+ * offset is held on heap. When the log reaches the disk budget it is compacted into a new file holding the
+ * newest live record of each query, which then atomically replaces the old one.
+ */
+@Component
+public class DiskPageStore implements MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiskPageStore.class);
+    private static final String FILE_NAME = "pages.db";
+    private static final int MAGIC = 0x47485047;
+    private static final int VERSION = 2;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    // Offset of the stored-at timestamp in a record, behind the record header and the query hash
+    private static final int STORED_AT_OFFSET = RECORD_HEADER_SIZE + Long.BYTES;
+
+    /**
+     * A page read from disk and the time it was fetched from GitHub.
+     */
+    public record StoredPage(GitHubApiResponse response, long storedAtMillis) {
+    }
+
+    private final Path file;
+    private final int capacity;
+    private final long maxAgeMillis;
+    private final Map<Long, Integer> index = new HashMap<>();
+
+    private boolean available;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long hits;
+    private long misses;
+    private long compactions;
+
+    public DiskPageStore(
+            @Value("${github.cache.disk.enabled:false}") boolean enabled,
+            @Value("${github.cache.disk.directory:${java.io.tmpdir}/github-scoring}") String directory,
+            @Value("${github.cache.disk.max-size:268435456}") long maxSizeBytes,
+            @Value("${github.cache.disk.max-age:86400000}") long maxAgeMillis) {
+        if (enabled && (maxSizeBytes <= FILE_HEADER_SIZE || maxSizeBytes > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Disk cache size must be greater than 8 bytes and at most 2 GB");
+        }
+        this.file = enabled ? Path.of(directory, FILE_NAME) : null;
+        this.capacity = (int) maxSizeBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        if (enabled) {
+            open();
+        }
+    }
+
+    /**
+     * @return a store that keeps nothing
+     */
+    public static DiskPageStore disabled() {
+        return new DiskPageStore(false, null, 0, 0);
+    }
+
+    /**
+     * Reads the stored page of a query.
+     *
+     * @param query normalised query
+     * @return the stored page, or null if there is none or it is older than the maximum age
+     */
+    public synchronized StoredPage get(RepositoryQuery query) {
+        if (!available) {
+            return null;
+        }
+        Integer offset = index.get(hash(query));
+        if (offset != null) {
+            try {
+                StoredPage page = decode(query, payloadAt(offset));
+                if (page != null && System.currentTimeMillis() - page.storedAtMillis() < maxAgeMillis) {
+                    hits++;
+                    return page;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Dropping unreadable disk cache record for query: {}", query, e);
+                index.remove(hash(query));
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Appends a page to the log, compacting the log first if it is full.
+     *
+     * @param query    normalised query
+     * @param response page fetched from GitHub
+     */
+    public synchronized void put(RepositoryQuery query, GitHubApiResponse response) {
+        if (!available) {
+            return;
+        }
+        try {
+            byte[] payload = encode(query, response, System.currentTimeMillis());
+            if (!fits(payload.length)) {
+                compact();
+            }
+            if (!fits(payload.length)) {
+                logger.warn("Disk cache is full, not storing page for query: {}", query);
+                return;
+            }
+            int offset = append(buffer, writePosition, payload);
+            index.put(hash(query), offset);
+            writePosition = offset + RECORD_HEADER_SIZE + payload.length;
+        } catch (IOException e) {
+            logger.warn("Failed to store page on disk for query: {}", query, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (available) {
+            buffer.force();
+            channel.close();
+            available = false;
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(file.getParent());
+            map();
+            logger.info("Opened disk cache {} with {} pages ({} of {} bytes used)",
+                    file, index.size(), writePosition, capacity);
+            available = true;
+        } catch (IOException e) {
+            logger.error("Could not open disk cache {}, continuing without it", file, e);
+        }
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        index.clear();
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(FILE_HEADER_SIZE, 0);
+            writePosition = FILE_HEADER_SIZE;
+            return;
+        }
+        recover();
+    }
+
+    /**
+     * Rebuilds the index from the log and truncates it after the last intact record.
+     */
+    private void recover() {
+        int position = FILE_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(position);
+            if (length < Long.BYTES || position + RECORD_HEADER_SIZE + length > capacity) {
+                break;
+            }
+            byte[] payload = payloadAt(position);
+            if (crc(payload) != buffer.getInt(position + 4)) {
+                logger.warn("Truncating disk cache at offset {} after a torn record", position);
+                break;
+            }
+            index.put(buffer.getLong(position + RECORD_HEADER_SIZE), position);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        writePosition = position;
+        markEnd(buffer, position);
+    }
+
+    /**
+     * Rewrites the newest live record of every query into a fresh file, keeping the newest pages first
+     * and filling at most half of the budget so appends have room again.
+     */
+    private void compact() throws IOException {
+        long now = System.currentTimeMillis();
+        List<Integer> live = new ArrayList<>();
+        for (int offset : index.values()) {
+            if (now - buffer.getLong(offset + STORED_AT_OFFSET) < maxAgeMillis) {
+                live.add(offset);
+            }
+        }
+        live.sort(Comparator.comparingLong((Integer offset) -> buffer.getLong(offset + STORED_AT_OFFSET)).reversed());
+
+        Path compacted = file.resolveSibling(FILE_NAME + ".compact");
+        Files.deleteIfExists(compacted);
+        try (FileChannel target = FileChannel.open(compacted,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer targetBuffer = target.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            targetBuffer.putInt(0, MAGIC);
+            targetBuffer.putInt(4, VERSION);
+            int position = FILE_HEADER_SIZE;
+            for (int offset : live) {
+                byte[] payload = payloadAt(offset);
+                if (position + RECORD_HEADER_SIZE + payload.length > capacity / 2) {
+                    break;
+                }
+                position = append(targetBuffer, position, payload) + RECORD_HEADER_SIZE + payload.length;
+            }
+            markEnd(targetBuffer, position);
+            targetBuffer.force();
+        }
+
+        channel.close();
+        Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        map();
+        compactions++;
+        logger.info("Compacted disk cache to {} pages ({} bytes)", index.size(), writePosition);
+    }
+
+    private boolean fits(int payloadLength) {
+        return (long) writePosition + RECORD_HEADER_SIZE + payloadLength + Integer.BYTES <= capacity;
+    }
+
+    private byte[] payloadAt(int offset) {
+        byte[] payload = new byte[buffer.getInt(offset)];
+        buffer.get(offset + RECORD_HEADER_SIZE, payload);
+        return payload;
+    }
+
+    /**
+     * Writes a record at the given offset. The length goes in last, once payload and checksum are in place.
+     *
+     * @return the offset of the record
+     */
+    private static int append(MappedByteBuffer target, int offset, byte[] payload) {
+        target.put(offset + RECORD_HEADER_SIZE, payload);
+        target.putInt(offset + 4, crc(payload));
+        target.putInt(offset, payload.length);
+        markEnd(target, offset + RECORD_HEADER_SIZE + payload.length);
+        return offset;
+    }
+
+    private static void markEnd(MappedByteBuffer target, int position) {
+        if (position + Integer.BYTES <= target.capacity()) {
+            target.putInt(position, 0);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the normalised query.
+     */
+    static long hash(RepositoryQuery query) {
+        String identity = query.language() + "|" + query.createdAfter() + "|" + query.page() + "|" + query.size();
+        return Fnv1a.hash(identity);
+    }
+
+    private static byte[] encode(RepositoryQuery query, GitHubApiResponse response, long storedAtMillis)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + response.repositories().size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(hash(query));
+        out.writeLong(storedAtMillis);
+        writeString(out, query.language());
+        out.writeLong(query.createdAfter().toEpochDay());
+        out.writeInt(query.page());
+        out.writeInt(query.size());
+
+        out.writeLong(response.totalCount());
+        out.writeBoolean(response.incompleteResults());
+        out.writeInt(response.repositories().size());
+        for (GitHubApiRepo repo : response.repositories()) {
+            writeString(out, repo.name());
+            out.writeBoolean(repo.owner() != null);
+            if (repo.owner() != null) {
+                writeString(out, repo.owner().login());
+                writeString(out, repo.owner().url());
+            }
+            writeString(out, repo.url());
+            out.writeInt(repo.stars());
+            out.writeInt(repo.forks());
+            writeDateTime(out, repo.updatedAt());
+            writeDateTime(out, repo.createdAt());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the decoded page, or null if the record belongs to a different query with the same hash
+     */
+    private static StoredPage decode(RepositoryQuery query, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        in.readLong();
+        long storedAtMillis = in.readLong();
+        RepositoryQuery storedQuery = new RepositoryQuery(
+                readString(in), LocalDate.ofEpochDay(in.readLong()), in.readInt(), in.readInt());
+        if (!storedQuery.equals(query)) {
+            return null;
+        }
+
+        long totalCount = in.readLong();
+        boolean incompleteResults = in.readBoolean();
+        int count = in.readInt();
+        List<GitHubApiRepo> repositories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = readString(in);
+            GitHubApiRepo.Owner owner = in.readBoolean()
+                    ? new GitHubApiRepo.Owner(readString(in), readString(in))
+                    : null;
+            String url = readString(in);
+            int stars = in.readInt();
+            int forks = in.readInt();
+            OffsetDateTime updatedAt = readDateTime(in);
+            OffsetDateTime createdAt = readDateTime(in);
+            repositories.add(new GitHubApiRepo(name, owner, url, stars, forks, updatedAt, createdAt));
+        }
+        return new StoredPage(new GitHubApiResponse(totalCount, incompleteResults, repositories), storedAtMillis);
+    }
+
+    private static void writeDateTime(DataOutputStream out, OffsetDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond());
+            out.writeInt(value.getOffset().getTotalSeconds());
+        }
+    }
+
+    private static OffsetDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long epochSecond = in.readLong();
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.ofTotalSeconds(in.readInt()));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private synchronized double usedBytes() {
+        return available ? writePosition : 0;
+    }
+
+    private synchronized double entries() {
+        return index.size();
+    }
+
+    private synchronized double hits() {
+        return hits;
+    }
+
+    private synchronized double misses() {
+        return misses;
+    }
+
+    private synchronized double compactions() {
+        return compactions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("github.cache.disk.used", this, DiskPageStore::usedBytes)
+                .description("Bytes of the disk cache log in use")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("github.cache.disk.entries", this, DiskPageStore::entries)
+                .description("Pages indexed in the disk cache")
+                .register(registry);
+        FunctionCounter.builder("github.cache.disk.requests", this, DiskPageStore::hits)
+                .tag("result", "hit")
+                .description("Disk cache lookups")
+                .register(registry);
+        FunctionCounter.builder("github.cache.disk.requests", this, DiskPageStore::misses)
+                .tag("result", "miss")
+                .description("Disk cache lookups")
+                .register(registry);
+        FunctionCounter.builder("github.cache.disk.compactions", this, DiskPageStore::compactions)
+                .description("Compactions of the disk cache log")
+                .register(registry);
+    }
+}
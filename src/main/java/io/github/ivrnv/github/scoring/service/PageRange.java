@@ -0,0 +1,10 @@
+package io.github.ivrnv.github.scoring.service;
+
+/**
+ * Contiguous range of result pages of the same size, both ends inclusive.
+ */
+public record PageRange(
+        int fromPage,
+        int toPage,
+        int size
+) {}
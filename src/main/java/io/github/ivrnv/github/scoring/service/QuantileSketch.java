@@ -0,0 +1,144 @@
+package io.github.ivrnv.github.scoring.service;
+
+/**
+ * Mergeable streaming quantile sketch with bounded memory, in the style of DDSketch.
+ * <p>
+ * Values are counted in logarithmic buckets whose bounds grow by a constant factor, so every quantile is
+ * estimated within a relative error of {@value #RELATIVE_ACCURACY} of the true value. Values close to 0 share
+ * one bucket. At most {@value #MAX_BUCKETS} buckets are kept (8 bytes each); beyond that the lowest buckets are
+ * collapsed into one, which only coarsens the low end of the distribution. Two sketches are merged by adding
+ * their bucket counts.
+ */
+final class QuantileSketch {
+
+    static final double RELATIVE_ACCURACY = 0.02;
+    static final int MAX_BUCKETS = 512;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LN_GAMMA = Math.log(GAMMA);
+    private static final double MIN_POSITIVE = 1e-6;
+
+    private long[] counts = new long[0];
+    // Bucket index of counts[0]
+    private int minIndex;
+    private long zeroCount;
+    private long count;
+
+    /**
+     * Adds one value. Negative values are counted as 0.
+     */
+    synchronized void add(double value) {
+        if (value < MIN_POSITIVE) {
+            zeroCount++;
+            count++;
+        } else {
+            add(index(value), 1);
+        }
+    }
+
+    /**
+     * Adds all values counted by another sketch.
+     */
+    void merge(QuantileSketch other) {
+        long[] otherCounts;
+        int otherMinIndex;
+        long otherZeroCount;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherMinIndex = other.minIndex;
+            otherZeroCount = other.zeroCount;
+        }
+        synchronized (this) {
+            zeroCount += otherZeroCount;
+            count += otherZeroCount;
+            for (int i = 0; i < otherCounts.length; i++) {
+                if (otherCounts[i] > 0) {
+                    add(otherMinIndex + i, otherCounts[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimates the value at a quantile.
+     *
+     * @param quantile quantile between 0 and 1
+     * @return the estimated value, or NaN if the sketch is empty
+     */
+    synchronized double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (Math.min(Math.max(quantile, 0), 1) * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return value(minIndex + i);
+            }
+        }
+        return value(minIndex + counts.length - 1);
+    }
+
+    /**
+     * Estimates the percentile rank of a value: the share of counted values below it, counting values in the
+     * same bucket as half below.
+     *
+     * @return the rank between 0 and 1, or NaN if the sketch is empty
+     */
+    synchronized double rank(double value) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (value < MIN_POSITIVE) {
+            return 0.5 * zeroCount / count;
+        }
+        int bucket = Math.max(index(value), minIndex) - minIndex;
+        double below = zeroCount;
+        for (int i = 0; i < Math.min(bucket, counts.length); i++) {
+            below += counts[i];
+        }
+        double within = bucket < counts.length ? counts[bucket] : 0;
+        return (below + within / 2) / count;
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    private void add(int index, long n) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            minIndex = index;
+        } else if (index < minIndex || index >= minIndex + counts.length) {
+            resize(Math.min(minIndex, index), Math.max(minIndex + counts.length - 1, index));
+        }
+        counts[Math.max(index, minIndex) - minIndex] += n;
+        count += n;
+    }
+
+    /**
+     * Resizes the buckets to cover the given index range, collapsing the lowest ones if it is too wide.
+     */
+    private void resize(int low, int high) {
+        int newMinIndex = Math.max(low, high - MAX_BUCKETS + 1);
+        long[] resized = new long[high - newMinIndex + 1];
+        for (int i = 0; i < counts.length; i++) {
+            resized[Math.max(minIndex + i, newMinIndex) - newMinIndex] += counts[i];
+        }
+        counts = resized;
+        minIndex = newMinIndex;
+    }
+
+    private static int index(double value) {
+        return (int) Math.ceil(Math.log(value) / LN_GAMMA);
+    }
+
+    private static double value(int index) {
+        // Midpoint of the bucket (gamma^(index-1), gamma^index] with the guaranteed relative error
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.ivrnv.github.scoring.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling record of how often each query is requested, persisted so a new instance knows which pages to
+ * warm up.
+ * <p>
+ * Counts are held per normalised {@link RepositoryQuery}, trimmed to the {@code max-entries} most frequent
+ * queries and halved every {@code half-life}, so the log follows current traffic. The log is written to a
+ * small text file periodically and on shutdown, one tab-separated {@code count language created_after page size}
+ * line per query, replacing the previous file atomically. Tabs are used because languages such as
+ * {@code jupyter notebook} contain spaces.
+ */
+@Component
+public class QueryAccessLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryAccessLog.class);
+    private static final String SEPARATOR = "\t";
+
+    private final Path file;
+    private final int maxEntries;
+    private final long halfLifeMillis;
+    private final Map<RepositoryQuery, LongAdder> counts = new ConcurrentHashMap<>();
+    private long lastDecayMillis = System.currentTimeMillis();
+
+    public QueryAccessLog(
+            @Value("${github.warmup.access-log.file:}") String file,
+            @Value("${github.warmup.access-log.max-entries:1000}") int maxEntries,
+            @Value("${github.warmup.access-log.half-life:3600000}") long halfLifeMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        this.maxEntries = maxEntries;
+        this.halfLifeMillis = halfLifeMillis;
+        load();
+    }
+
+    /**
+     * Counts a request for a query.
+     *
+     * @param query normalised query
+     */
+    public void record(RepositoryQuery query) {
+        // New queries are dropped while the log holds twice its size; trimming on flush makes room again
+        if (counts.size() >= 2 * maxEntries && !counts.containsKey(query)) {
+            return;
+        }
+        counts.computeIfAbsent(query, q -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param limit maximum number of queries
+     * @return the most frequently requested queries, most frequent first
+     */
+    public List<RepositoryQuery> topQueries(int limit) {
+        return counts.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<RepositoryQuery, LongAdder> entry) ->
+                        entry.getValue().sum()).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Decays and trims the counts and writes them to the log file.
+     */
+    @Scheduled(fixedDelayString = "${github.warmup.access-log.flush-interval:60000}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+        if (now - lastDecayMillis >= halfLifeMillis) {
+            counts.values().forEach(count -> count.add(-(count.sum() + 1) / 2));
+            lastDecayMillis = now;
+        }
+        counts.entrySet().removeIf(entry -> entry.getValue().sum() <= 0);
+        if (counts.size() > maxEntries) {
+            List<RepositoryQuery> top = topQueries(maxEntries);
+            counts.keySet().retainAll(top);
+        }
+        if (file != null) {
+            write();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void write() {
+        List<String> lines = new ArrayList<>(counts.size());
+        counts.forEach((query, count) -> lines.add(String.join(SEPARATOR, String.valueOf(count.sum()),
+                query.language(), query.createdAfter().toString(), String.valueOf(query.page()),
+                String.valueOf(query.size()))));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temporary, lines, StandardCharsets.UTF_8);
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Failed to write query access log {}", file, e);
+        }
+    }
+
+    private void load() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                // Logs written before languages could contain spaces separate fields with single spaces
+                String[] fields = line.contains(SEPARATOR) ? line.split(SEPARATOR) : line.trim().split(" ");
+                if (fields.length != 5) {
+                    continue;
+                }
+                try {
+                    RepositoryQuery query = new RepositoryQuery(fields[1], LocalDate.parse(fields[2]),
+                            Integer.parseInt(fields[3]), Integer.parseInt(fields[4]));
+                    counts.computeIfAbsent(query, q -> new LongAdder()).add(Long.parseLong(fields[0]));
+                } catch (RuntimeException e) {
+                    logger.debug("Skipping malformed access log line: {}", line);
+                }
+            }
+            logger.info("Loaded {} queries from access log {}", counts.size(), file);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Failed to read query access log {}", file, e);
+        }
+    }
+}
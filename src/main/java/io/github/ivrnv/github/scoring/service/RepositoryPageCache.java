@@ -0,0 +1,264 @@
+package io.github.ivrnv.github.scoring.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-heap cache of raw GitHub search pages keyed by normalised {@link RepositoryQuery}.
+ * <p>
+ * The cache is bounded by the estimated heap size of its entries rather than their count, and uses Caffeine's
+ * W-TinyLFU policy, so a burst of one-off queries cannot evict the pages that are requested over and over.
+ * Pages GitHub marked as incomplete expire sooner than complete ones. Only unscored responses are cached;
+ * scores are computed on every read so the recency factor stays current.
+ * <p>
+ * Misses fall through to the {@link DiskPageStore}. A page found there is served immediately, and if it is
+ * older than the TTL it is revalidated against GitHub in the background, so a restarted instance answers
+ * from disk instead of refilling from GitHub on the request path.
+ * <p>
+ * Pages past their TTL stay in the cache for a further grace period. A read in that period is served the
+ * stale page while a refresh runs on a small bounded executor. Every page counts its reads, and a periodic
+ * sweep refreshes pages read at least {@code hot-threshold} times shortly before their TTL runs out, so hot
+ * queries never go stale. Other pages are left to expire.
+ * <p>
+ * The highest fork count of a language and creation date, which ranking by score needs, is cached next to the
+ * pages for the same TTL.
+ */
+@Component
+public class RepositoryPageCache implements MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryPageCache.class);
+    private static final String CACHE_NAME = "github.repositories";
+
+    // Rough heap footprint of the objects behind a cached page, compact strings assumed
+    private static final int RESPONSE_OVERHEAD = 64;
+    private static final int REPOSITORY_OVERHEAD = 160;
+    private static final int STRING_OVERHEAD = 48;
+    private static final int MAX_FORKS_ENTRIES = 1024;
+
+    /**
+     * Cached page with the time it was fetched from GitHub, its reads since then and how to fetch it again.
+     */
+    private record CachedPage(
+            GitHubApiResponse response,
+            long fetchedAtMillis,
+            AtomicInteger reads,
+            Function<RepositoryQuery, GitHubApiResponse> loader
+    ) {
+    }
+
+    private final Cache<RepositoryQuery, CachedPage> cache;
+    private final Cache<RepositoryQuery, Integer> maxForks;
+    private final DiskPageStore diskPageStore;
+    private final long ttlMillis;
+    private final long incompleteTtlMillis;
+    private final int hotThreshold;
+    private final double refreshAhead;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Set<RepositoryQuery> refreshing = ConcurrentHashMap.newKeySet();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder refreshesScheduled = new LongAdder();
+    private final LongAdder refreshesRejected = new LongAdder();
+    private final LongAdder refreshesFailed = new LongAdder();
+
+    public RepositoryPageCache(
+            @Value("${github.cache.max-weight:67108864}") long maxWeightBytes,
+            @Value("${github.cache.ttl:300000}") long ttlMillis,
+            @Value("${github.cache.incomplete-ttl:30000}") long incompleteTtlMillis,
+            @Value("${github.cache.grace:600000}") long graceMillis,
+            @Value("${github.cache.refresh.hot-threshold:5}") int hotThreshold,
+            @Value("${github.cache.refresh.ahead:0.8}") double refreshAhead,
+            @Value("${github.cache.refresh.threads:2}") int refreshThreads,
+            @Value("${github.cache.refresh.queue-size:64}") int refreshQueueSize,
+            DiskPageStore diskPageStore) {
+        logger.info("Initializing repository page cache with max weight: {} bytes, ttl: {}ms, grace: {}ms",
+                maxWeightBytes, ttlMillis, graceMillis);
+
+        this.diskPageStore = diskPageStore;
+        this.ttlMillis = ttlMillis;
+        this.incompleteTtlMillis = incompleteTtlMillis;
+        this.hotThreshold = hotThreshold;
+        this.refreshAhead = refreshAhead;
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refreshQueueSize), new CustomizableThreadFactory("page-refresh-"));
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+        Duration grace = Duration.ofMillis(graceMillis);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((RepositoryQuery query, CachedPage page) -> estimateBytes(page.response()))
+                .expireAfter(Expiry.writing((RepositoryQuery query, CachedPage page) ->
+                        Duration.ofMillis(ttlFor(page)).plus(grace)))
+                .recordStats()
+                .build();
+        this.maxForks = Caffeine.newBuilder()
+                .maximumSize(MAX_FORKS_ENTRIES)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    /**
+     * Returns the cached page for a query, loading it if absent.
+     * Concurrent loads of the same query wait for a single load; failed loads are not cached.
+     * A page past its TTL is returned as is and refreshed in the background.
+     *
+     * @param query  normalised query
+     * @param loader fetches the page from GitHub
+     * @return the page
+     */
+    public GitHubApiResponse get(RepositoryQuery query, Function<RepositoryQuery, GitHubApiResponse> loader) {
+        CachedPage page = cache.get(query, q -> loadThroughDisk(q, loader));
+        page.reads().incrementAndGet();
+        if (System.currentTimeMillis() - page.fetchedAtMillis() >= ttlFor(page)) {
+            staleServed.increment();
+            refresh(query, page);
+        }
+        return page.response();
+    }
+
+    /**
+     * Returns the highest fork count of the repositories matching the language and creation date of a query,
+     * loading it if absent. Concurrent loads for the same language and date wait for a single load; failed loads
+     * are not cached.
+     *
+     * @param query  normalised query; page and size are ignored
+     * @param loader fetches the fork count from GitHub
+     * @return the highest fork count
+     */
+    public int maxForks(RepositoryQuery query, ToIntFunction<RepositoryQuery> loader) {
+        RepositoryQuery key = new RepositoryQuery(query.language(), query.createdAfter(), 1, 1);
+        return maxForks.get(key, loader::applyAsInt);
+    }
+
+    /**
+     * Refreshes hot pages that are close to their TTL.
+     */
+    @Scheduled(fixedDelayString = "${github.cache.refresh.interval:10000}")
+    public void refreshHotPages() {
+        long now = System.currentTimeMillis();
+        cache.asMap().forEach((query, page) -> {
+            if (page.reads().get() >= hotThreshold && now - page.fetchedAtMillis() >= ttlFor(page) * refreshAhead) {
+                refresh(query, page);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private CachedPage loadThroughDisk(RepositoryQuery query, Function<RepositoryQuery, GitHubApiResponse> loader) {
+        DiskPageStore.StoredPage stored = diskPageStore.get(query);
+        if (stored != null) {
+            return new CachedPage(stored.response(), stored.storedAtMillis(), new AtomicInteger(), loader);
+        }
+        GitHubApiResponse response = loader.apply(query);
+        diskPageStore.put(query, response);
+        return new CachedPage(response, System.currentTimeMillis(), new AtomicInteger(), loader);
+    }
+
+    private void refresh(RepositoryQuery query, CachedPage page) {
+        if (!refreshing.add(query)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    GitHubApiResponse response = page.loader().apply(query);
+                    diskPageStore.put(query, response);
+                    // Halve the read count so a page has to keep being read to stay hot
+                    cache.put(query, new CachedPage(response, System.currentTimeMillis(),
+                            new AtomicInteger(page.reads().get() / 2), page.loader()));
+                } catch (RuntimeException e) {
+                    refreshesFailed.increment();
+                    logger.warn("Background refresh failed for query: {}", query, e);
+                } finally {
+                    refreshing.remove(query);
+                }
+            });
+            refreshesScheduled.increment();
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(query);
+            refreshesRejected.increment();
+            logger.debug("Refresh queue is full, skipping refresh of query: {}", query);
+        }
+    }
+
+    private long ttlFor(CachedPage page) {
+        return page.response().incompleteResults() ? incompleteTtlMillis : ttlMillis;
+    }
+
+    /**
+     * Estimates the heap size of a page, in bytes.
+     */
+    static int estimateBytes(GitHubApiResponse response) {
+        long bytes = RESPONSE_OVERHEAD;
+        for (GitHubApiRepo repo : response.repositories()) {
+            bytes += REPOSITORY_OVERHEAD + sizeOf(repo.name()) + sizeOf(repo.url());
+            if (repo.owner() != null) {
+                bytes += sizeOf(repo.owner().login()) + sizeOf(repo.owner().url());
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static int sizeOf(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // cache.gets{result=hit|miss}, cache.evictions, cache.eviction.weight, cache.load.duration, ...
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("cache.weight", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .description("Estimated heap size of the cached entries")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("github.cache.stale.served", staleServed, LongAdder::doubleValue)
+                .description("Reads served a page past its TTL while it was refreshed")
+                .register(registry);
+        FunctionCounter.builder("github.cache.refresh", refreshesScheduled, LongAdder::doubleValue)
+                .tag("result", "scheduled")
+                .description("Background page refreshes")
+                .register(registry);
+        FunctionCounter.builder("github.cache.refresh", refreshesRejected, LongAdder::doubleValue)
+                .tag("result", "rejected")
+                .description("Background page refreshes")
+                .register(registry);
+        FunctionCounter.builder("github.cache.refresh", refreshesFailed, LongAdder::doubleValue)
+                .tag("result", "failed")
+                .description("Background page refreshes")
+                .register(registry);
+        Gauge.builder("github.cache.refresh.queue", refreshExecutor, executor -> executor.getQueue().size())
+                .description("Background page refreshes waiting for a thread")
+                .register(registry);
+    }
+}
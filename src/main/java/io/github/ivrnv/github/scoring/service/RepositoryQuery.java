@@ -0,0 +1,26 @@
+package io.github.ivrnv.github.scoring.service;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Normalised repository search query with pagination.
+ * Two requests for the same results map to equal instances, so it can be used as a key for
+ * deduplicating and caching upstream calls.
+ */
+public record RepositoryQuery(
+        String language,
+        LocalDate createdAfter,
+        int page,
+        int size
+) {
+    public static RepositoryQuery of(String language, LocalDate createdAfter, PageRequest pageable) {
+        // GitHub matches languages case-insensitively
+        String normalisedLanguage = language == null ? null : language.trim().toLowerCase(Locale.ROOT);
+        return new RepositoryQuery(normalisedLanguage, createdAfter, pageable.page(), pageable.size());
+    }
+
+    public PageRequest pageRequest() {
+        return new PageRequest(page, size);
+    }
+}
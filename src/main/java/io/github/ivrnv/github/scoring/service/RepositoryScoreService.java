@@ -1,19 +1,34 @@
 package io.github.ivrnv.github.scoring.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.ivrnv.github.scoring.client.CrawlResult;
 import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
 import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
 import io.github.ivrnv.github.scoring.client.GitHubClient;
+import io.github.ivrnv.github.scoring.client.RepositoryCrawler;
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.index.RepositoryIndex;
+import io.github.ivrnv.github.scoring.metrics.RequestMetrics;
 import io.github.ivrnv.github.scoring.model.GitHubRepository;
+import io.github.ivrnv.github.scoring.model.LanguageDistribution;
 import io.github.ivrnv.github.scoring.model.Page;
 import io.github.ivrnv.github.scoring.model.ScoredRepository;
+import io.github.ivrnv.github.scoring.profiling.ScoringEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
+import java.util.concurrent.Semaphore;
 
 /**
  * Service responsible for fetching repositories from GitHub and calculating their popularity scores.
@@ -22,17 +37,76 @@ import java.util.stream.Collectors;
 public class RepositoryScoreService {
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryScoreService.class);
+    private static final int CANDIDATE_PAGE_SIZE = 100;
+    // A crawl result holds up to github.crawler.max-results repositories
+    private static final int MAX_CACHED_CRAWLS = 8;
+    private static final Comparator<ScoredRepository> BY_SCORE =
+            Comparator.comparingDouble(ScoredRepository::popularityScore);
     
     private final GitHubClient gitHubClient;
+    private final RepositoryCrawler repositoryCrawler;
     private final ScoreCalculator scoreCalculator;
+    private final RepositoryPageCache pageCache;
+    private final QueryAccessLog queryAccessLog;
+    private final RepositoryIndex repositoryIndex;
+    private final ScoreDistributions scoreDistributions;
+    private final RequestMetrics requestMetrics;
+    private final RequestCoalescer<ScoringRequest, Page<ScoredRepository>> coalescer;
+    private final Cache<CrawlRequest, CrawlResult> crawls;
+    private final Semaphore crawlPermits;
 
-    public RepositoryScoreService(GitHubClient gitHubClient, ScoreCalculator scoreCalculator) {
+    /**
+     * Coalescing key: identical queries scored with different weights must not share a result.
+     */
+    private record ScoringRequest(RepositoryQuery query, ScoringWeights weights) {}
+
+    /**
+     * Crawl cache key: normalised language and creation date.
+     */
+    private record CrawlRequest(String language, LocalDate createdAfter) {}
+
+    /**
+     * Source of the repositories of a page range, recorded once per window by the score distributions.
+     */
+    private record RangeRequest(String language, LocalDate createdAfter, PageRange range) {}
+
+    public RepositoryScoreService(
+            GitHubClient gitHubClient,
+            RepositoryCrawler repositoryCrawler,
+            ScoreCalculator scoreCalculator,
+            RepositoryPageCache pageCache,
+            QueryAccessLog queryAccessLog,
+            RepositoryIndex repositoryIndex,
+            ScoreDistributions scoreDistributions,
+            RequestMetrics requestMetrics,
+            @Value("${github.coalescing.max-waiters:256}") int maxWaiters,
+            @Value("${github.coalescing.timeout:15000}") long coalescingTimeoutMillis,
+            @Value("${github.crawler.cache-ttl:600000}") long crawlCacheTtlMillis,
+            @Value("${github.crawler.max-concurrent-crawls:1}") int maxConcurrentCrawls) {
+        if (maxConcurrentCrawls <= 0) {
+            throw new IllegalArgumentException("Max concurrent crawls must be greater than 0");
+        }
         this.gitHubClient = gitHubClient;
+        this.repositoryCrawler = repositoryCrawler;
         this.scoreCalculator = scoreCalculator;
+        this.pageCache = pageCache;
+        this.queryAccessLog = queryAccessLog;
+        this.repositoryIndex = repositoryIndex;
+        this.scoreDistributions = scoreDistributions;
+        this.requestMetrics = requestMetrics;
+        this.coalescer = new RequestCoalescer<>(maxWaiters, coalescingTimeoutMillis);
+        this.crawls = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_CRAWLS)
+                .expireAfterWrite(Duration.ofMillis(crawlCacheTtlMillis))
+                .build();
+        this.crawlPermits = new Semaphore(maxConcurrentCrawls);
     }
 
     /**
      * Retrieves GitHub repositories matching the provided criteria and calculates their popularity scores.
+     * Concurrent requests for the same normalised query share a single upstream call and scoring pass.
+     * Queries covered by the local {@link RepositoryIndex} are answered without calling GitHub; other raw pages
+     * are served from the {@link RepositoryPageCache} when possible. Scores are always recomputed.
      *
      * @param language     The programming language to filter repositories by
      * @param createdAfter The minimum creation date for repositories
@@ -40,33 +114,396 @@ public class RepositoryScoreService {
      * @return A page of repositories with their calculated popularity scores
      */
     public Page<ScoredRepository> getScoredRepositories(String language, LocalDate createdAfter, PageRequest pageable) {
+        return getScoredRepositories(language, createdAfter, pageable, null);
+    }
+
+    /**
+     * Retrieves GitHub repositories matching the provided criteria and scores them with the given weights.
+     * Raw pages are shared with all other weight sets, so re-ranking a cached query does not call GitHub.
+     *
+     * @param weights weights to score with, or null for the configured ones
+     * @see #getScoredRepositories(String, LocalDate, PageRequest)
+     */
+    public Page<ScoredRepository> getScoredRepositories(String language, LocalDate createdAfter, PageRequest pageable,
+                                                        ScoringWeights weights) {
         try {
-            GitHubApiResponse response = gitHubClient.fetchRepositories(language, createdAfter, pageable);
+            RepositoryQuery query = RepositoryQuery.of(language, createdAfter, pageable);
+            ScoringWeights scoringWeights = weights != null ? weights : scoreCalculator.defaultWeights();
+            queryAccessLog.record(query);
+            GitHubApiResponse indexed = repositoryIndex.search(query);
+            if (indexed != null) {
+                return score(indexed, query, scoringWeights);
+            }
+            return coalescer.execute(new ScoringRequest(query, scoringWeights),
+                    () -> fetchAndScore(query, scoringWeights));
+        } catch (Exception e) {
+            logger.error("Error while fetching or scoring repositories", e);
+            return Page.of(Collections.emptyList(), pageable.page(), pageable.size(), 0);
+        }
+    }
+
+    /**
+     * Merges weights given with a request into the configured ones.
+     *
+     * @return the merged weight set
+     * @throws IllegalArgumentException if the resulting weight set is invalid, see {@link ScoringWeights}
+     */
+    public ScoringWeights scoringWeights(Double stars, Double forks, Double recency, Long maxDaysForRecency) {
+        return scoreCalculator.defaultWeights().with(stars, forks, recency, maxDaysForRecency);
+    }
+
+    /**
+     * Loads the raw page of a query into the cache without scoring it.
+     *
+     * @param query normalised query
+     * @throws GitHubApiException if the page cannot be fetched from GitHub
+     */
+    public void warm(RepositoryQuery query) {
+        pageCache.get(query, this::fetchPage);
+    }
+
+    private Page<ScoredRepository> fetchAndScore(RepositoryQuery query, ScoringWeights weights) {
+        GitHubApiResponse response = pageCache.get(query, this::fetchPage);
+        
+        List<ScoredRepository> scoredRepos = scoreEach(response.repositories(), weights, query.language());
             
-            List<ScoredRepository> scoredRepos = response.repositories().stream()
-                .map(this::convertToScoredRepository)
-                .collect(Collectors.toList());
-                
+        return Page.of(
+            scoredRepos,
+            query.page(),
+            query.size(),
+            response.totalCount(),
+            GitHubClient.MAX_SEARCH_RESULTS
+        );
+    }
+
+    private Page<ScoredRepository> score(GitHubApiResponse indexed, RepositoryQuery query, ScoringWeights weights) {
+        List<ScoredRepository> scoredRepos = scoreEach(indexed.repositories(), weights, query.language());
+
+        // The index is not bound by the search result cap, so every indexed repository is reachable
+        return Page.of(scoredRepos, query.page(), query.size(), indexed.totalCount());
+    }
+
+    private GitHubApiResponse fetchPage(RepositoryQuery query) {
+        GitHubApiResponse response =
+                gitHubClient.fetchRepositories(query.language(), query.createdAfter(), query.pageRequest());
+        scoreDistributions.record(query.language(), query, response.repositories());
+        return response;
+    }
+
+    /**
+     * Returns the distribution of stars, forks and popularity scores of the repositories seen for a language.
+     *
+     * @param language The programming language
+     * @return the distribution, or null if no repositories of the language were seen
+     */
+    public LanguageDistribution getLanguageDistribution(String language) {
+        return scoreDistributions.distribution(language);
+    }
+
+    /**
+     * Retrieves a page of repositories ranked by popularity score across all candidates, rather than scored
+     * within one page of GitHub's star order.
+     * <p>
+     * Candidates are read in star order, {@value #CANDIDATE_PAGE_SIZE} per upstream page, and the best
+     * {@code page * size} of them are kept in a bounded min-heap. Reading stops as soon as no remaining candidate
+     * can beat the lowest score in the heap: remaining candidates have at most the stars of the last one read and
+     * at most the highest fork count of the query, and are assumed to be updated today. Candidates come from the
+     * local {@link RepositoryIndex} when it covers the query and from the page cache otherwise, so ranking is
+     * limited to the 1000 results GitHub search returns unless the query is indexed; pages beyond those are empty
+     * and answered without calling GitHub.
+     * <p>
+     * A ranking is only returned once every candidate that could still reach the requested page has been read. If
+     * GitHub fails before that, the request fails rather than returning a ranking of the candidates read so far.
+     *
+     * @param language     The programming language to filter repositories by
+     * @param createdAfter The minimum creation date for repositories
+     * @param pageable     Pagination information
+     * @return A page of repositories ordered by popularity score, highest first
+     * @throws GitHubApiException if fetching candidates from GitHub fails; with status 503 if some were read already
+     */
+    public Page<ScoredRepository> getTopScoredRepositories(String language, LocalDate createdAfter,
+                                                           PageRequest pageable) {
+        return getTopScoredRepositories(language, createdAfter, pageable, null);
+    }
+
+    /**
+     * Retrieves a page of repositories ranked by popularity score calculated with the given weights.
+     *
+     * @param weights weights to score with, or null for the configured ones
+     * @see #getTopScoredRepositories(String, LocalDate, PageRequest)
+     */
+    public Page<ScoredRepository> getTopScoredRepositories(String language, LocalDate createdAfter,
+                                                           PageRequest pageable, ScoringWeights weights) {
+        try {
+            ScoringWeights scoringWeights = weights != null ? weights : scoreCalculator.defaultWeights();
+            ScoringKernel kernel = scoreCalculator.kernel(scoringWeights);
+            String rankedLanguage = rankedLanguage(language, scoringWeights);
+            RepositoryQuery query = RepositoryQuery.of(language, createdAfter, pageable);
+            int indexedMaxForks = repositoryIndex.maxForks(query);
+            boolean indexed = indexedMaxForks >= 0;
+            long reachable = indexed ? Integer.MAX_VALUE : GitHubClient.MAX_SEARCH_RESULTS;
+            long offset = (long) (pageable.page() - 1) * pageable.size();
+            if (offset >= reachable) {
+                return Page.of(Collections.emptyList(), pageable.page(), pageable.size(), 0);
+            }
+            int limit = (int) Math.min((long) pageable.page() * pageable.size(), reachable);
+
+            // Grows with the candidates actually read rather than with the requested page
+            PriorityQueue<ScoredRepository> top = new PriorityQueue<>(Math.min(limit, CANDIDATE_PAGE_SIZE), BY_SCORE);
+            long now = scoreCalculator.nowEpochSecond();
+            Integer maxForks = indexed ? indexedMaxForks : null;
+            long totalCount = 0;
+            long read = 0;
+            int candidatePage = 0;
+            while (read < reachable) {
+                GitHubApiResponse candidates;
+                try {
+                    candidates = fetchCandidates(new RepositoryQuery(
+                            query.language(), createdAfter, ++candidatePage, CANDIDATE_PAGE_SIZE));
+                } catch (RuntimeException e) {
+                    if (top.isEmpty()) {
+                        throw e;
+                    }
+                    throw incompleteRanking(read, e);
+                }
+                totalCount = candidates.totalCount();
+                for (GitHubApiRepo repo : candidates.repositories()) {
+                    ScoredRepository scored = convertToScoredRepository(repo, now, kernel, rankedLanguage);
+                    if (top.size() < limit) {
+                        top.add(scored);
+                    } else if (scored.popularityScore() > top.peek().popularityScore()) {
+                        top.poll();
+                        top.add(scored);
+                    }
+                }
+                read += candidates.repositories().size();
+                if (candidates.repositories().size() < CANDIDATE_PAGE_SIZE || read >= totalCount) {
+                    break;
+                }
+                if (top.size() == limit) {
+                    if (maxForks == null) {
+                        try {
+                            maxForks = pageCache.maxForks(query,
+                                    q -> gitHubClient.fetchMaxForks(q.language(), q.createdAfter()));
+                        } catch (RuntimeException e) {
+                            throw incompleteRanking(read, e);
+                        }
+                    }
+                    int lastStars = candidates.repositories().getLast().stars();
+                    if (scoreCalculator.maxScore(scoringWeights, lastStars, maxForks) <= top.peek().popularityScore()) {
+                        break;
+                    }
+                }
+            }
+            logger.debug("Ranked top {} repositories by score from {} candidates in {} pages",
+                    limit, read, candidatePage);
+
+            List<ScoredRepository> ranked = new ArrayList<>(top);
+            ranked.sort(BY_SCORE.reversed());
+            List<ScoredRepository> content = ranked.subList((int) Math.min(offset, ranked.size()), ranked.size());
+            return indexed
+                    ? Page.of(content, pageable.page(), pageable.size(), totalCount)
+                    : Page.of(content, pageable.page(), pageable.size(), totalCount, GitHubClient.MAX_SEARCH_RESULTS);
+        } catch (GitHubApiException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error while ranking repositories by score", e);
+            return Page.of(Collections.emptyList(), pageable.page(), pageable.size(), 0);
+        }
+    }
+
+    private static GitHubApiException incompleteRanking(long read, RuntimeException e) {
+        logger.warn("Score ranking failed after {} candidates", read, e);
+        return new GitHubApiException("Could not read all candidates of the score ranking: " + e.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private GitHubApiResponse fetchCandidates(RepositoryQuery query) {
+        GitHubApiResponse indexed = repositoryIndex.search(query);
+        return indexed != null ? indexed : pageCache.get(query, this::fetchPage);
+    }
+
+    /**
+     * Retrieves several consecutive pages of GitHub repositories in one call and calculates their popularity scores.
+     * Pages are fetched concurrently and returned in page order.
+     *
+     * @param language     The programming language to filter repositories by
+     * @param createdAfter The minimum creation date for repositories
+     * @param range        Pages to fetch
+     * @return A page starting at the first requested page and containing repositories of all requested pages
+     */
+    public Page<ScoredRepository> getScoredRepositoryRange(String language, LocalDate createdAfter, PageRange range) {
+        return getScoredRepositoryRange(language, createdAfter, range, null);
+    }
+
+    /**
+     * Retrieves several consecutive pages of GitHub repositories and scores them with the given weights.
+     *
+     * @param weights weights to score with, or null for the configured ones
+     * @see #getScoredRepositoryRange(String, LocalDate, PageRange)
+     */
+    public Page<ScoredRepository> getScoredRepositoryRange(String language, LocalDate createdAfter, PageRange range,
+                                                           ScoringWeights weights) {
+        try {
+            GitHubApiResponse response = gitHubClient.fetchRepositoryRange(
+                    language, createdAfter, range.fromPage(), range.toPage(), range.size());
+            scoreDistributions.record(
+                    language, new RangeRequest(language, createdAfter, range), response.repositories());
+
+            List<ScoredRepository> scoredRepos = scoreEach(response.repositories(), weights, language);
+
             return Page.of(
                 scoredRepos,
-                pageable.page(),
-                pageable.size(),
-                response.totalCount()
+                range.fromPage(),
+                range.size(),
+                response.totalCount(),
+                GitHubClient.MAX_SEARCH_RESULTS
             );
         } catch (Exception e) {
-            logger.error("Error while fetching or scoring repositories", e);
-            return Page.of(Collections.emptyList(), pageable.page(), pageable.size(), 0);
+            logger.error("Error while fetching or scoring repository pages", e);
+            return Page.of(Collections.emptyList(), range.fromPage(), range.size(), 0);
         }
     }
 
-    private ScoredRepository convertToScoredRepository(GitHubApiRepo repo) {
-        GitHubRepository repoForScoring = new GitHubRepository(
-            repo.stars(),
-            repo.forks(),
-            repo.updatedAt()
-        );
-        
-        double score = scoreCalculator.calculateScore(repoForScoring);
+    /**
+     * Crawls and scores the complete population of repositories matching the criteria,
+     * beyond the 1000 results GitHub search returns for a single query.
+     * Repositories are ordered by popularity score, highest first.
+     * <p>
+     * If the crawl was cut off, the page holds the newest repositories only and {@code totalElements} is the number
+     * of repositories GitHub reports, which exceeds the number returned.
+     * <p>
+     * A crawl costs up to a hundred upstream searches, so crawled repositories are kept for
+     * {@code github.crawler.cache-ttl} and concurrent requests for the same language and date share one crawl.
+     * At most {@code github.crawler.max-concurrent-crawls} different crawls run at a time; further requests fail
+     * with 429 instead of spending the rate-limit budget paced traffic and the index depend on. Scores are always
+     * recomputed.
+     *
+     * @param language     The programming language to filter repositories by
+     * @param createdAfter The minimum creation date for repositories
+     * @return A single page holding all crawled repositories with their popularity scores
+     * @throws GitHubApiException with status 429 if too many different crawls are running
+     */
+    public Page<ScoredRepository> crawlScoredRepositories(String language, LocalDate createdAfter) {
+        try {
+            String normalisedLanguage = RepositoryQuery.of(language, createdAfter, new PageRequest(1, 1)).language();
+            CrawlResult crawl = crawls.get(new CrawlRequest(normalisedLanguage, createdAfter), this::crawl);
+            List<GitHubApiRepo> crawled = crawl.repositories();
+            List<ScoredRepository> scoredRepos = scoreAll(crawled, language).stream()
+                .sorted(BY_SCORE.reversed())
+                .toList();
+
+            if (crawl.truncated()) {
+                long totalCount = Math.max(crawl.totalCount(), scoredRepos.size() + 1L);
+                return Page.of(scoredRepos, 1, scoredRepos.size(), totalCount, scoredRepos.size());
+            }
+            return Page.of(scoredRepos, 1, scoredRepos.size(), scoredRepos.size());
+        } catch (GitHubApiException e) {
+            if (HttpStatus.TOO_MANY_REQUESTS.equals(e.getStatusCode())) {
+                throw e;
+            }
+            logger.error("Error while crawling or scoring repositories", e);
+            return Page.of(Collections.emptyList(), 1, 0, 0);
+        } catch (Exception e) {
+            logger.error("Error while crawling or scoring repositories", e);
+            return Page.of(Collections.emptyList(), 1, 0, 0);
+        }
+    }
+
+    private CrawlResult crawl(CrawlRequest request) {
+        if (!crawlPermits.tryAcquire()) {
+            throw new GitHubApiException("Too many crawls are running, try again later", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        try {
+            CrawlResult crawl = repositoryCrawler.crawl(request.language(), request.createdAfter());
+            scoreDistributions.record(request.language(), request, crawl.repositories());
+            return crawl;
+        } finally {
+            crawlPermits.release();
+        }
+    }
+
+    /**
+     * Scores many repositories in one batch, see {@link ScoreCalculator#calculateScoresParallel}.
+     */
+    private List<ScoredRepository> scoreAll(List<GitHubApiRepo> repos, String language) {
+        ScoringEvent event = new ScoringEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long now = scoreCalculator.nowEpochSecond();
+        int size = repos.size();
+        int[] stars = new int[size];
+        int[] forks = new int[size];
+        long[] updatedAt = new long[size];
+        for (int i = 0; i < size; i++) {
+            GitHubApiRepo repo = repos.get(i);
+            GitHubRepository.validate(repo.stars(), repo.forks(), repo.updatedAt(), now);
+            stars[i] = repo.stars();
+            forks[i] = repo.forks();
+            updatedAt[i] = repo.updatedAt() != null ? repo.updatedAt().toEpochSecond() : ScoreCalculator.NO_UPDATE;
+        }
+
+        double[] scores = new double[size];
+        scoreCalculator.calculateScoresParallel(stars, forks, updatedAt, scores);
+
+        List<ScoredRepository> scored = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            GitHubApiRepo repo = repos.get(i);
+            scored.add(new ScoredRepository(repo.name(), repo.owner().login(), repo.url(),
+                    repo.stars(), repo.forks(), repo.updatedAt(), scores[i],
+                    scoreDistributions.percentileRank(language, scores[i])));
+        }
+        requestMetrics.recordScoring(language, size, System.nanoTime() - start);
+        commit(event, language, size, false);
+        return scored;
+    }
+
+    /**
+     * Scores a page of repositories against one clock snapshot.
+     *
+     * @param weights  weights to score with, or null for the configured ones
+     * @param language language whose score distribution ranks the repositories
+     */
+    private List<ScoredRepository> scoreEach(List<GitHubApiRepo> repos, ScoringWeights weights, String language) {
+        ScoringEvent event = new ScoringEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ScoringKernel kernel = scoreCalculator.kernel(weights);
+        String rankedLanguage = rankedLanguage(language, weights);
+        long now = scoreCalculator.nowEpochSecond();
+        List<ScoredRepository> scored = new ArrayList<>(repos.size());
+        for (GitHubApiRepo repo : repos) {
+            scored.add(convertToScoredRepository(repo, now, kernel, rankedLanguage));
+        }
+        requestMetrics.recordScoring(language, scored.size(), System.nanoTime() - start);
+        commit(event, language, scored.size(),
+                weights != null && !weights.equals(scoreCalculator.defaultWeights()));
+        return scored;
+    }
+
+    private static void commit(ScoringEvent event, String language, int items, boolean customWeights) {
+        if (event.shouldCommit()) {
+            event.language = language;
+            event.items = items;
+            event.customWeights = customWeights;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return the language to rank scores in, or null if the weights differ from the configured ones, as the
+     *         distributions only hold scores calculated with those
+     */
+    private String rankedLanguage(String language, ScoringWeights weights) {
+        return weights == null || weights.equals(scoreCalculator.defaultWeights()) ? language : null;
+    }
+
+    private ScoredRepository convertToScoredRepository(GitHubApiRepo repo, long now, ScoringKernel kernel,
+                                                       String rankedLanguage) {
+        // Score the decoded values directly instead of allocating an intermediate GitHubRepository
+        GitHubRepository.validate(repo.stars(), repo.forks(), repo.updatedAt(), now);
+        long updatedAt = repo.updatedAt() != null ? repo.updatedAt().toEpochSecond() : ScoreCalculator.NO_UPDATE;
+        double score = kernel.score(repo.stars(), repo.forks(), updatedAt, now);
         
         return new ScoredRepository(
             repo.name(),
@@ -75,7 +512,8 @@ public class RepositoryScoreService {
             repo.stars(),
             repo.forks(),
             repo.updatedAt(),
-            score
+            score,
+            rankedLanguage != null ? scoreDistributions.percentileRank(rankedLanguage, score) : null
         );
     }
 }
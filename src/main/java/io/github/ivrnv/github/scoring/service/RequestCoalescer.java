@@ -0,0 +1,100 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical calls ("single flight").
+ * <p>
+ * The first caller for a key runs the call on its own thread; callers arriving with the same key while
+ * it is in flight wait for and share its result. Nothing is kept after the call completes, so results are
+ * never stale. The number of waiters per key and the time they wait are bounded.
+ *
+ * @param <K> key identifying identical calls
+ * @param <V> result type
+ */
+public class RequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, InFlight<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxWaiters;
+    private final long timeoutMillis;
+
+    public RequestCoalescer(int maxWaiters, long timeoutMillis) {
+        if (maxWaiters < 0) {
+            throw new IllegalArgumentException("Max waiters must not be negative");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be greater than 0");
+        }
+        this.maxWaiters = maxWaiters;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs the call, or joins an identical call that is already in flight.
+     *
+     * @param key  key identifying identical calls
+     * @param call call to run if none is in flight for the key
+     * @return result of the call
+     * @throws GitHubApiException with status 429 if too many callers already wait for the key,
+     *                            or 504 if the in-flight call does not complete in time
+     */
+    public V execute(K key, Supplier<V> call) {
+        InFlight<V> created = new InFlight<>();
+        InFlight<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V result = call.get();
+            created.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(InFlight<V> flight) {
+        if (flight.waiters.incrementAndGet() > maxWaiters) {
+            flight.waiters.decrementAndGet();
+            throw new GitHubApiException("Too many requests waiting for the same query", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        try {
+            return flight.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new GitHubApiException("Timed out waiting for an identical in-flight request", HttpStatus.GATEWAY_TIMEOUT);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new GitHubApiException("Identical in-flight request failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitHubApiException("Interrupted while waiting for an identical in-flight request", e);
+        } finally {
+            flight.waiters.decrementAndGet();
+        }
+    }
+
+    private static final class InFlight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
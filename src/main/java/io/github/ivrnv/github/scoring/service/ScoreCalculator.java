@@ -1,11 +1,14 @@
 package io.github.ivrnv.github.scoring.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.ivrnv.github.scoring.model.GitHubRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.OffsetDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.stream.IntStream;
 
 /**
  * Component for calculating GitHub repository popularity score.
@@ -13,24 +16,96 @@ import java.time.temporal.ChronoUnit;
  * 1. Number of stars - higher values increase the score
  * 2. Number of forks - higher values increase the score
  * 3. Repository recency - more recent updates increase the score
+ * <p>
+ * Scoring works on primitive values only: update times are epoch seconds compared against a clock snapshot the
+ * caller takes once per request, and logarithms of small counts come from a precomputed table.
+ * <p>
+ * The configured weights are the default. Requests may bring their own {@link ScoringWeights}; each distinct set
+ * is compiled once into a {@link ScoringKernel} that holds its weights as captured constants, and kept in a
+ * bounded cache.
  */
 @Component
 public class ScoreCalculator {
 
+    /**
+     * Marks a repository without update date in batch input; its recency factor is 0.
+     */
+    public static final long NO_UPDATE = Long.MIN_VALUE;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    // Repositories scored by one fork-join task; large enough to amortise task overhead
+    private static final int PARALLEL_CHUNK_SIZE = 16_384;
+    // log10(n + 1) for counts below the table size, which covers the forks and stars of most repositories
+    private static final double[] LOG10_PLUS_ONE = new double[4096];
+    private static final int MAX_KERNELS = 256;
+
+    static {
+        for (int n = 0; n < LOG10_PLUS_ONE.length; n++) {
+            LOG10_PLUS_ONE[n] = Math.log10(n + 1);
+        }
+    }
+
     private final double starsWeight;
     private final double forksWeight;
     private final double recencyWeight;
     private final long maxDaysForRecency;
+    private final Clock clock;
+    private final ScoringWeights defaultWeights;
+    private final ScoringKernel defaultKernel = this::calculateScore;
+    private final Cache<ScoringWeights, ScoringKernel> kernels = Caffeine.newBuilder()
+            .maximumSize(MAX_KERNELS)
+            .build();
 
     public ScoreCalculator(
             @Value("${github.scoring.weights.stars}") double starsWeight,
             @Value("${github.scoring.weights.forks}") double forksWeight,
             @Value("${github.scoring.weights.recency}") double recencyWeight,
-            @Value("${github.scoring.max-days-for-recency}") long maxDaysForRecency) {
+            @Value("${github.scoring.max-days-for-recency}") long maxDaysForRecency,
+            Clock clock) {
         this.starsWeight = starsWeight;
         this.forksWeight = forksWeight;
         this.recencyWeight = recencyWeight;
         this.maxDaysForRecency = maxDaysForRecency;
+        this.clock = clock;
+        this.defaultWeights = new ScoringWeights(starsWeight, forksWeight, recencyWeight, maxDaysForRecency);
+    }
+
+    /**
+     * @return the configured weight set
+     */
+    public ScoringWeights defaultWeights() {
+        return defaultWeights;
+    }
+
+    /**
+     * Returns the scoring kernel of a weight set, compiling it on first use.
+     *
+     * @param weights weight set, or null for the configured one
+     * @return kernel scoring with the given weights
+     */
+    public ScoringKernel kernel(ScoringWeights weights) {
+        if (weights == null || weights.equals(defaultWeights)) {
+            return defaultKernel;
+        }
+        return kernels.get(weights, ScoreCalculator::compile);
+    }
+
+    private static ScoringKernel compile(ScoringWeights weights) {
+        double starsWeight = weights.stars();
+        double forksWeight = weights.forks();
+        double recencyWeight = weights.recency();
+        long maxDaysForRecency = weights.maxDaysForRecency();
+        return (stars, forks, updatedEpochSecond, nowEpochSecond) -> score(starsWeight, forksWeight, recencyWeight,
+                maxDaysForRecency, stars, forks, updatedEpochSecond, nowEpochSecond);
+    }
+
+    /**
+     * Takes the clock snapshot that all scores of one request are calculated against.
+     *
+     * @return current time in epoch seconds
+     */
+    public long nowEpochSecond() {
+        return clock.instant().getEpochSecond();
     }
 
     /**
@@ -40,18 +115,131 @@ public class ScoreCalculator {
      * @return numerical popularity score
      */
     public double calculateScore(GitHubRepository repository) {
+        return calculateScore(repository.stars(), repository.forks(), repository.updatedAt());
+    }
+
+    /**
+     * Calculates the popularity score from raw repository values.
+     * The values are expected to be validated already, see {@link GitHubRepository#validate}.
+     *
+     * @param stars     number of repository stars
+     * @param forks     number of repository forks
+     * @param updatedAt date of the last repository update
+     * @return numerical popularity score
+     */
+    public double calculateScore(int stars, int forks, OffsetDateTime updatedAt) {
+        return calculateScore(stars, forks, updatedAt != null ? updatedAt.toEpochSecond() : NO_UPDATE,
+                nowEpochSecond());
+    }
+
+    /**
+     * Calculates the popularity score from primitive repository values without allocating.
+     * The values are expected to be validated already, see {@link GitHubRepository#validate}.
+     *
+     * @param stars              number of repository stars
+     * @param forks              number of repository forks
+     * @param updatedEpochSecond last repository update in epoch seconds, or {@link #NO_UPDATE}
+     * @param nowEpochSecond     clock snapshot of the request, see {@link #nowEpochSecond()}
+     * @return numerical popularity score
+     */
+    public double calculateScore(int stars, int forks, long updatedEpochSecond, long nowEpochSecond) {
+        return score(starsWeight, forksWeight, recencyWeight, maxDaysForRecency,
+                stars, forks, updatedEpochSecond, nowEpochSecond);
+    }
+
+    private static double score(double starsWeight, double forksWeight, double recencyWeight, long maxDaysForRecency,
+                                int stars, int forks, long updatedEpochSecond, long nowEpochSecond) {
         // Use logarithmic scale for stars and forks
         // This reduces the excessive influence of very large values and smooths the difference
-        double starsScore = Math.log10(repository.stars() + 1); // +1 to avoid log(0)
-        double forksScore = Math.log10(repository.forks() + 1);
+        double starsScore = log10PlusOne(stars); // +1 to avoid log(0)
+        double forksScore = log10PlusOne(forks);
 
-        double recencyFactor = calculateRecencyFactor(repository.updatedAt());
+        double recencyFactor = calculateRecencyFactor(updatedEpochSecond, nowEpochSecond, maxDaysForRecency);
 
         return (starsWeight * starsScore) +
                (forksWeight * forksScore) +
                (recencyWeight * recencyFactor);
     }
 
+    /**
+     * Returns the highest score any repository with at most the given stars and forks can reach,
+     * assuming it was updated today. Terms with a negative weight contribute at most 0.
+     *
+     * @param maxStars upper bound of the repository stars
+     * @param maxForks upper bound of the repository forks
+     * @return upper bound of the popularity score
+     */
+    public double maxScore(int maxStars, int maxForks) {
+        return maxScore(defaultWeights, maxStars, maxForks);
+    }
+
+    /**
+     * Returns the highest score any repository within the given bounds can reach with a weight set.
+     *
+     * @see #maxScore(int, int)
+     */
+    public double maxScore(ScoringWeights weights, int maxStars, int maxForks) {
+        return Math.max(0, weights.stars() * log10PlusOne(maxStars)) +
+               Math.max(0, weights.forks() * log10PlusOne(maxForks)) +
+               Math.max(0, weights.recency());
+    }
+
+    /**
+     * Calculates the popularity scores of a batch of repositories given as parallel arrays.
+     * Produces the same scores as {@link #calculateScore(int, int, long, long)} in one tight loop over
+     * primitive arrays, against a single clock snapshot.
+     * The values are expected to be validated already, see {@link GitHubRepository#validate}.
+     *
+     * @param stars               number of stars per repository
+     * @param forks               number of forks per repository
+     * @param updatedEpochSeconds last update per repository in epoch seconds, or {@link #NO_UPDATE}
+     * @param scores              receives the score per repository
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public void calculateScores(int[] stars, int[] forks, long[] updatedEpochSeconds, double[] scores) {
+        checkBatch(stars, forks, updatedEpochSeconds, scores);
+        calculateScores(stars, forks, updatedEpochSeconds, scores, 0, scores.length, nowEpochSecond());
+    }
+
+    /**
+     * Calculates the popularity scores of a large batch in parallel on the common fork-join pool.
+     * Small batches are scored on the calling thread.
+     *
+     * @see #calculateScores(int[], int[], long[], double[])
+     */
+    public void calculateScoresParallel(int[] stars, int[] forks, long[] updatedEpochSeconds, double[] scores) {
+        checkBatch(stars, forks, updatedEpochSeconds, scores);
+        long now = nowEpochSecond();
+        int chunks = (scores.length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        if (chunks <= 1) {
+            calculateScores(stars, forks, updatedEpochSeconds, scores, 0, scores.length, now);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * PARALLEL_CHUNK_SIZE;
+            calculateScores(stars, forks, updatedEpochSeconds, scores,
+                    from, Math.min(from + PARALLEL_CHUNK_SIZE, scores.length), now);
+        });
+    }
+
+    private void calculateScores(int[] stars, int[] forks, long[] updatedEpochSeconds, double[] scores,
+                                 int from, int to, long now) {
+        for (int i = from; i < to; i++) {
+            scores[i] = calculateScore(stars[i], forks[i], updatedEpochSeconds[i], now);
+        }
+    }
+
+    private static void checkBatch(int[] stars, int[] forks, long[] updatedEpochSeconds, double[] scores) {
+        int size = scores.length;
+        if (stars.length != size || forks.length != size || updatedEpochSeconds.length != size) {
+            throw new IllegalArgumentException("Batch arrays must have the same length");
+        }
+    }
+
+    private static double log10PlusOne(int count) {
+        return count < LOG10_PLUS_ONE.length ? LOG10_PLUS_ONE[count] : Math.log10(count + 1.0);
+    }
+
     /**
      * Calculates repository recency factor based on the last update date.
      * Factor varies from 0 (outdated) to 1 (very recent).
@@ -67,16 +255,19 @@ public class ScoreCalculator {
      * Updated 10 months ago (~304 days): 1.0 - (304/365) ≈ 0.17 (17% recency) <br>
      * This recency factor then contributes to the overall repository score based on the recencyWeight.
      *
-     * @param updatedAt date of the last repository update
+     * @param updatedEpochSecond last repository update in epoch seconds, or {@link #NO_UPDATE}
+     * @param nowEpochSecond     clock snapshot of the request
+     * @param maxDaysForRecency  days after which the factor is 0
      * @return recency factor from 0 to 1
      */
-    private double calculateRecencyFactor(OffsetDateTime updatedAt) {
-        if (updatedAt == null) {
+    private static double calculateRecencyFactor(long updatedEpochSecond, long nowEpochSecond,
+                                                 long maxDaysForRecency) {
+        if (updatedEpochSecond == NO_UPDATE) {
             return 0;
         }
 
-        // Calculate days since last update
-        long daysSinceUpdate = ChronoUnit.DAYS.between(updatedAt, OffsetDateTime.now());
+        // Calculate whole days since last update
+        long daysSinceUpdate = (nowEpochSecond - updatedEpochSecond) / SECONDS_PER_DAY;
         
         // If update is older than maxDaysForRecency, factor is 0
         if (daysSinceUpdate >= maxDaysForRecency) {
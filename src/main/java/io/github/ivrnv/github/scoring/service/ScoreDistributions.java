@@ -0,0 +1,207 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.metrics.LanguageTags;
+import io.github.ivrnv.github.scoring.model.LanguageDistribution;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-language distributions of stars, forks and popularity scores, kept in {@link QuantileSketch}es.
+ * <p>
+ * Repositories are recorded when their page is fetched from GitHub or crawled, scored with the configured
+ * weights, so the distributions describe the repositories seen recently rather than every repository of a
+ * language. Sketches are kept in two generations that rotate every {@code github.scoring.distribution.window}:
+ * ranks and quantiles combine the current and the previous generation, so repositories age out after at most two
+ * windows and their scores are recalculated when they are seen again. Within a window the repositories of a page
+ * are recorded once, so refreshing hot pages does not weigh their repositories more than others. A language takes
+ * six sketches of at most 4 KB and the keys of the pages recorded in the last two windows, regardless of how many
+ * repositories were recorded. Only the languages that {@link LanguageTags} reports under their own tag are tracked,
+ * so misspelled languages from request parameters take no memory. Popularity scores of a language are only comparable to other languages through their percentile rank in these
+ * distributions.
+ */
+@Component
+public class ScoreDistributions implements MeterBinder {
+
+    private final ScoreCalculator scoreCalculator;
+    private final LanguageTags languageTags;
+    private final long minSamples;
+    private final long windowSeconds;
+    private volatile Map<String, LanguageSketches> current = new ConcurrentHashMap<>();
+    private volatile Map<String, LanguageSketches> previous = new ConcurrentHashMap<>();
+    private volatile long windowEnd;
+
+    /**
+     * Repositories of a language recorded within one window, and the pages or crawls they came from.
+     */
+    private record LanguageSketches(Set<Object> sources, QuantileSketch stars, QuantileSketch forks,
+                                    QuantileSketch scores) {
+        LanguageSketches() {
+            this(ConcurrentHashMap.newKeySet(), new QuantileSketch(), new QuantileSketch(), new QuantileSketch());
+        }
+
+        static long count(LanguageSketches sketches) {
+            return sketches != null ? sketches.scores().count() : 0;
+        }
+    }
+
+    public ScoreDistributions(
+            ScoreCalculator scoreCalculator,
+            LanguageTags languageTags,
+            @Value("${github.scoring.distribution.min-samples:100}") long minSamples,
+            @Value("${github.scoring.distribution.window:3600000}") long windowMillis) {
+        if (windowMillis < 1000) {
+            throw new IllegalArgumentException("Distribution window must be at least 1000 ms");
+        }
+        this.scoreCalculator = scoreCalculator;
+        this.languageTags = languageTags;
+        this.minSamples = minSamples;
+        this.windowSeconds = windowMillis / 1000;
+        this.windowEnd = scoreCalculator.nowEpochSecond() + windowSeconds;
+    }
+
+    /**
+     * Records repositories of a language, unless they were already recorded for the same source in this window.
+     * Ignored for languages that are not tracked.
+     *
+     * @param language     language the repositories were searched for
+     * @param source       what the repositories were fetched for, e.g. the query of a page
+     * @param repositories repositories to record
+     */
+    public void record(String language, Object source, List<GitHubApiRepo> repositories) {
+        rotateIfDue();
+        String key = tag(language);
+        if (key == null || repositories.isEmpty()) {
+            return;
+        }
+        Map<String, LanguageSketches> generation = current;
+        LanguageSketches sketches = generation.computeIfAbsent(key, k -> new LanguageSketches());
+        if (!sketches.sources().add(source)) {
+            return;
+        }
+
+        long now = scoreCalculator.nowEpochSecond();
+        for (GitHubApiRepo repo : repositories) {
+            long updatedAt = repo.updatedAt() != null ? repo.updatedAt().toEpochSecond() : ScoreCalculator.NO_UPDATE;
+            sketches.stars().add(repo.stars());
+            sketches.forks().add(repo.forks());
+            sketches.scores().add(scoreCalculator.calculateScore(repo.stars(), repo.forks(), updatedAt, now));
+        }
+    }
+
+    /**
+     * Returns the percentile rank of a popularity score among the recently recorded repositories of a language.
+     *
+     * @param language language of the repository
+     * @param score    popularity score calculated with the configured weights
+     * @return the rank between 0 and 100, or null if fewer than {@code min-samples} repositories were recorded
+     */
+    public Double percentileRank(String language, double score) {
+        rotateIfDue();
+        String key = tag(language);
+        if (key == null) {
+            return null;
+        }
+        LanguageSketches recent = current.get(key);
+        LanguageSketches older = previous.get(key);
+        long count = LanguageSketches.count(recent) + LanguageSketches.count(older);
+        if (count == 0 || count < minSamples) {
+            return null;
+        }
+        // The rank among both generations is the count-weighted mean of their ranks
+        return 100 * (below(recent, score) + below(older, score)) / count;
+    }
+
+    private static double below(LanguageSketches sketches, double score) {
+        long count = LanguageSketches.count(sketches);
+        return count > 0 ? sketches.scores().rank(score) * count : 0;
+    }
+
+    /**
+     * @return the distribution of a language, or null if no repositories of it were recorded recently
+     */
+    public LanguageDistribution distribution(String language) {
+        rotateIfDue();
+        String key = tag(language);
+        if (key == null) {
+            return null;
+        }
+        LanguageSketches recent = current.get(key);
+        LanguageSketches older = previous.get(key);
+        if (recent == null && older == null) {
+            return null;
+        }
+        LanguageSketches merged = new LanguageSketches();
+        for (LanguageSketches sketches : new LanguageSketches[] {recent, older}) {
+            if (sketches != null) {
+                merged.stars().merge(sketches.stars());
+                merged.forks().merge(sketches.forks());
+                merged.scores().merge(sketches.scores());
+            }
+        }
+        return new LanguageDistribution(key, merged.scores().count(),
+                quantiles(merged.stars()), quantiles(merged.forks()), quantiles(merged.scores()));
+    }
+
+    /**
+     * Starts a new window: the current generation becomes the previous one and the previous one is dropped.
+     */
+    synchronized void rotate() {
+        previous = current;
+        current = new ConcurrentHashMap<>();
+        windowEnd = scoreCalculator.nowEpochSecond() + windowSeconds;
+    }
+
+    private void rotateIfDue() {
+        long now = scoreCalculator.nowEpochSecond();
+        if (now < windowEnd) {
+            return;
+        }
+        synchronized (this) {
+            if (now < windowEnd) {
+                return;
+            }
+            // After a whole window without rotation the current generation is older than one window as well
+            boolean idle = now >= windowEnd + windowSeconds;
+            rotate();
+            if (idle) {
+                previous = new ConcurrentHashMap<>();
+            }
+        }
+    }
+
+    private int trackedLanguages() {
+        Set<String> languages = new HashSet<>(current.keySet());
+        languages.addAll(previous.keySet());
+        return languages.size();
+    }
+
+    private static LanguageDistribution.Quantiles quantiles(QuantileSketch sketch) {
+        return new LanguageDistribution.Quantiles(sketch.quantile(0.25), sketch.quantile(0.5),
+                sketch.quantile(0.75), sketch.quantile(0.9), sketch.quantile(0.99));
+    }
+
+    /**
+     * @return the tag of a tracked language, or null if the language is not tracked
+     */
+    private String tag(String language) {
+        String tag = languageTags.of(language);
+        return LanguageTags.OTHER.equals(tag) || LanguageTags.NONE.equals(tag) ? null : tag;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("github.scoring.distribution.languages", this, ScoreDistributions::trackedLanguages)
+                .description("Languages with a tracked score distribution")
+                .register(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.ivrnv.github.scoring.service;
+
+/**
+ * Popularity score function compiled for one {@link ScoringWeights} set, see {@link ScoreCalculator#kernel}.
+ */
+@FunctionalInterface
+public interface ScoringKernel {
+
+    /**
+     * Calculates the popularity score from primitive repository values without allocating.
+     *
+     * @param stars              number of repository stars
+     * @param forks              number of repository forks
+     * @param updatedEpochSecond last repository update in epoch seconds, or {@link ScoreCalculator#NO_UPDATE}
+     * @param nowEpochSecond     clock snapshot of the request
+     * @return numerical popularity score
+     */
+    double score(int stars, int forks, long updatedEpochSecond, long nowEpochSecond);
+}
@@ -0,0 +1,49 @@
+package io.github.ivrnv.github.scoring.service;
+
+/**
+ * Weight set of the popularity score, see {@link ScoreCalculator}.
+ * Equal weight sets share one compiled {@link ScoringKernel}.
+ */
+public record ScoringWeights(
+        double stars,
+        double forks,
+        double recency,
+        long maxDaysForRecency
+) {
+    static final long MAX_DAYS_FOR_RECENCY_LIMIT = 3650;
+
+    /**
+     * @throws IllegalArgumentException if a weight is negative or not finite, all weights are 0,
+     *                                  or the recency window is not between 1 and 3650 days
+     */
+    public ScoringWeights {
+        checkWeight("Stars", stars);
+        checkWeight("Forks", forks);
+        checkWeight("Recency", recency);
+        if (stars + forks + recency == 0) {
+            throw new IllegalArgumentException("At least one weight must be greater than 0");
+        }
+        if (maxDaysForRecency < 1 || maxDaysForRecency > MAX_DAYS_FOR_RECENCY_LIMIT) {
+            throw new IllegalArgumentException(
+                    "Max days for recency must be between 1 and " + MAX_DAYS_FOR_RECENCY_LIMIT);
+        }
+    }
+
+    /**
+     * Returns a weight set with the given values replacing the ones of this set.
+     * Null values keep the value of this set.
+     */
+    public ScoringWeights with(Double stars, Double forks, Double recency, Long maxDaysForRecency) {
+        return new ScoringWeights(
+                stars != null ? stars : this.stars,
+                forks != null ? forks : this.forks,
+                recency != null ? recency : this.recency,
+                maxDaysForRecency != null ? maxDaysForRecency : this.maxDaysForRecency);
+    }
+
+    private static void checkWeight(String name, double weight) {
+        if (!Double.isFinite(weight) || weight < 0) {
+            throw new IllegalArgumentException(name + " weight must be a non-negative number");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GitHubCircuitBreakerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final GitHubCircuitBreaker circuitBreaker = new GitHubCircuitBreaker(10, 4, 50, 1000, 80, 30_000, 2);
+
+    @Test
+    void staysClosed_untilMinimumCallsAreRecorded() {
+        // Given
+        circuitBreaker.onResult(10, true, NOW);
+        circuitBreaker.onResult(10, true, NOW);
+        circuitBreaker.onResult(10, true, NOW);
+
+        // When & Then
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire(NOW)).isTrue();
+    }
+
+    @Test
+    void opens_whenFailureRateReachesThreshold() {
+        // Given
+        circuitBreaker.onResult(10, false, NOW);
+        circuitBreaker.onResult(10, false, NOW);
+        circuitBreaker.onResult(10, true, NOW);
+
+        // When
+        circuitBreaker.onResult(10, true, NOW);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire(NOW + 1_000)).isFalse();
+    }
+
+    @Test
+    void opens_whenSlowCallRateReachesThreshold() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(1_500, false, NOW);
+        }
+
+        // When & Then
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void closes_whenTrialCallsSucceedAfterOpenDuration() {
+        // Given
+        openBreaker();
+
+        // When
+        assertThat(circuitBreaker.tryAcquire(NOW + 30_000)).isTrue();
+        assertThat(circuitBreaker.tryAcquire(NOW + 30_000)).isTrue();
+        assertThat(circuitBreaker.tryAcquire(NOW + 30_000)).isFalse();
+        circuitBreaker.onResult(10, false, NOW + 30_100);
+        circuitBreaker.onResult(10, false, NOW + 30_100);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.bufferedCalls()).isZero();
+    }
+
+    @Test
+    void reopens_whenTrialCallFails() {
+        // Given
+        openBreaker();
+        circuitBreaker.tryAcquire(NOW + 30_000);
+
+        // When
+        circuitBreaker.onResult(10, true, NOW + 30_100);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire(NOW + 30_200)).isFalse();
+    }
+
+    @Test
+    void doesNotCountClientErrors_asFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(GitHubApiException.class, () -> circuitBreaker.execute(() -> {
+                throw new GitHubApiException("Validation failed", HttpStatus.UNPROCESSABLE_ENTITY);
+            }));
+        }
+
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.failureRate()).isZero();
+    }
+
+    @Test
+    void staysClosed_whenRateLimitPacingIsSlowerThanSlowCallDuration() {
+        // Given
+        GitHubCircuitBreaker breaker = new GitHubCircuitBreaker(10, 4, 50, 50, 80, 30_000, 2);
+        GitHubTokenPool tokenPool = new GitHubTokenPool(List.of("token"));
+        RateLimitGovernor governor = new RateLimitGovernor(tokenPool, 5_000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        governor.bindTo(registry);
+        long now = System.currentTimeMillis();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.LIMIT_HEADER, "10");
+        headers.set(RateLimitBudget.REMAINING_HEADER, "10");
+        headers.set(RateLimitBudget.RESET_HEADER, String.valueOf(now / 1000 + 2));
+        tokenPool.tokens().getFirst().budget().update(200, headers, now);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            breaker.execute(governor::acquire);
+        }
+
+        // Then
+        assertThat(registry.get("github.client.ratelimit.throttled").functionCounter().count()).isEqualTo(4);
+        assertThat(breaker.state()).isEqualTo(GitHubCircuitBreaker.State.CLOSED);
+        assertThat(breaker.slowCallRate()).isZero();
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onResult(10, true, NOW);
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(GitHubCircuitBreaker.State.OPEN);
+    }
+}
@@ -2,14 +2,17 @@ package io.github.ivrnv.github.scoring.client;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.metrics.RequestMetrics;
 import io.github.ivrnv.github.scoring.service.PageRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
@@ -27,7 +30,11 @@ class GitHubClientTest {
     
     @BeforeEach
     void setUp() {
-        gitHubClient = new GitHubClient(wireMock.baseUrl(), 5000, 10000);
+        gitHubClient = new GitHubClient(wireMock.baseUrl(), new HttpComponentsClientHttpRequestFactory(), 4, "rest",
+                new ConditionalResponseStore(100),
+                new RateLimitGovernor(new GitHubTokenPool(List.of()), 1000),
+                new GitHubCircuitBreaker(20, 10, 50, 5000, 80, 30000, 3),
+                new RequestHedger(false, 0.95, 100, 2000, 0.1), GitHubTraffic.off(), RequestMetrics.unbound());
     }
     
     @Test
@@ -62,6 +69,25 @@ class GitHubClientTest {
                 .withQueryParam("order", equalTo("desc")));
     }
     
+    @Test
+    void returnsForksOfMostForkedRepository() {
+        // Given
+        wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                .withQueryParam("q", equalTo("language:java created:>=2023-01-01"))
+                .withQueryParam("sort", equalTo("forks"))
+                .withQueryParam("per_page", equalTo("1"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBodyFile("github/successful_response.json")));
+
+        // When
+        int maxForks = gitHubClient.fetchMaxForks("java", LocalDate.of(2023, 1, 1));
+
+        // Then
+        assertThat(maxForks).isEqualTo(20);
+    }
+
     @Test
     void returnsEmptyList_whenNoResultsFound() {
         // Given
@@ -113,6 +139,138 @@ class GitHubClientTest {
         assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
     }
     
+    @Test
+    void servesStoredResponse_whenGitHubRepliesNotModified() {
+        // Given
+        String language = "java";
+        LocalDate createdAfter = LocalDate.of(2023, 1, 1);
+        PageRequest pageable = new PageRequest(1, 30);
+        String expectedQuery = "language:java created:>=2023-01-01";
+        String etag = "\"5f3e2a\"";
+        
+        wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                .withQueryParam("q", equalTo(expectedQuery))
+                .withHeader("If-None-Match", absent())
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withHeader("ETag", etag)
+                        .withBodyFile("github/successful_response.json")));
+        wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                .withQueryParam("q", equalTo(expectedQuery))
+                .withHeader("If-None-Match", equalTo(etag))
+                .willReturn(aResponse()
+                        .withStatus(304)
+                        .withHeader("ETag", etag)));
+                        
+        // When
+        GitHubApiResponse first = gitHubClient.fetchRepositories(language, createdAfter, pageable);
+        GitHubApiResponse second = gitHubClient.fetchRepositories(language, createdAfter, pageable);
+        
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(second.repositories()).hasSize(2);
+        
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/search/repositories"))
+                .withHeader("If-None-Match", equalTo(etag)));
+    }
+    
+    @Test
+    void failsFast_whileRetryAfterBackOffIsActive() {
+        // Given
+        String language = "java";
+        LocalDate createdAfter = LocalDate.of(2023, 1, 1);
+        PageRequest pageable = new PageRequest(1, 30);
+        
+        wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                .willReturn(aResponse()
+                        .withStatus(429)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withHeader("Retry-After", "60")
+                        .withBodyFile("github/error_response.json")));
+        
+        assertThrows(GitHubApiException.class, () ->
+                gitHubClient.fetchRepositories(language, createdAfter, pageable));
+                        
+        // When & Then
+        GitHubApiException exception = assertThrows(GitHubApiException.class, () ->
+                gitHubClient.fetchRepositories(language, createdAfter, pageable));
+                
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/search/repositories")));
+    }
+    
+    @Test
+    void failsFast_whileCircuitBreakerIsOpen() {
+        // Given
+        LocalDate createdAfter = LocalDate.of(2023, 1, 1);
+        PageRequest pageable = new PageRequest(1, 30);
+        GitHubClient client = new GitHubClient(wireMock.baseUrl(), new HttpComponentsClientHttpRequestFactory(), 4,
+                "rest", new ConditionalResponseStore(100),
+                new RateLimitGovernor(new GitHubTokenPool(List.of()), 1000),
+                new GitHubCircuitBreaker(2, 2, 50, 5000, 80, 30000, 1),
+                new RequestHedger(false, 0.95, 100, 2000, 0.1), GitHubTraffic.off(), RequestMetrics.unbound());
+        
+        wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                .willReturn(aResponse()
+                        .withStatus(502)
+                        .withBody("Bad Gateway")));
+        
+        assertThrows(GitHubApiException.class, () -> client.fetchRepositories("java", createdAfter, pageable));
+        assertThrows(GitHubApiException.class, () -> client.fetchRepositories("java", createdAfter, pageable));
+        
+        // When & Then
+        GitHubApiException exception = assertThrows(GitHubApiException.class, () ->
+                client.fetchRepositories("java", createdAfter, pageable));
+        
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        wireMock.verify(2, getRequestedFor(urlPathEqualTo("/search/repositories")));
+    }
+    
+    @Test
+    void fetchesPageRange_andMergesResultsInPageOrder() {
+        // Given
+        String language = "java";
+        LocalDate createdAfter = LocalDate.of(2023, 1, 1);
+        
+        for (int page = 1; page <= 3; page++) {
+            wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                    .withQueryParam("page", equalTo(String.valueOf(page)))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                            .withBody("""
+                                    {"total_count": 6, "incomplete_results": false, "items": [
+                                      {"name": "repo-%d", "owner": {"login": "octocat"}, "stargazers_count": %d,
+                                       "forks_count": 1, "updated_at": "2023-06-15T10:20:30Z"}
+                                    ]}
+                                    """.formatted(page, 100 - page))
+                            .withFixedDelay(100 * (4 - page))));
+        }
+                        
+        // When
+        GitHubApiResponse response = gitHubClient.fetchRepositoryRange(language, createdAfter, 1, 3, 1);
+        
+        // Then
+        assertThat(response.totalCount()).isEqualTo(6);
+        assertThat(response.repositories())
+                .extracting(GitHubApiRepo::name)
+                .containsExactly("repo-1", "repo-2", "repo-3");
+        wireMock.verify(3, getRequestedFor(urlPathEqualTo("/search/repositories")));
+    }
+    
+    @Test
+    void throwsException_whenPageRangeIsEmpty() {
+        // Given
+        LocalDate createdAfter = LocalDate.of(2023, 1, 1);
+        
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                gitHubClient.fetchRepositoryRange("java", createdAfter, 3, 2, 30));
+                
+        assertThat(exception.getMessage()).isEqualTo("Last page must not be lower than first page");
+    }
+    
     @Test
     void buildsCorrectQueryParameters() {
         // Given
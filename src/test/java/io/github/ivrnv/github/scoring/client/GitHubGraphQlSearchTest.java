@@ -0,0 +1,113 @@
+package io.github.ivrnv.github.scoring.client;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.metrics.RequestMetrics;
+import io.github.ivrnv.github.scoring.service.PageRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GitHubGraphQlSearchTest {
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    private static final LocalDate CREATED_AFTER = LocalDate.of(2023, 1, 1);
+    private static final String SEARCH_QUERY = "language:java created:>=2023-01-01 sort:stars-desc";
+
+    private GitHubClient gitHubClient;
+
+    @BeforeEach
+    void setUp() {
+        gitHubClient = new GitHubClient(wireMock.baseUrl(), new HttpComponentsClientHttpRequestFactory(), 4, "graphql",
+                new ConditionalResponseStore(100),
+                new RateLimitGovernor(new GitHubTokenPool(List.of()), 1000),
+                new GitHubCircuitBreaker(20, 10, 50, 5000, 80, 30000, 3),
+                new RequestHedger(false, 0.95, 100, 2000, 0.1), GitHubTraffic.off(), RequestMetrics.unbound());
+    }
+
+    @Test
+    void returnsRepositories_fromMinimalFieldSelection() {
+        // Given
+        wireMock.stubFor(post(urlPathEqualTo("/graphql"))
+                .withRequestBody(matchingJsonPath("$.variables.q", equalTo(SEARCH_QUERY)))
+                .withRequestBody(matchingJsonPath("$.variables.first", equalTo("30")))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBodyFile("github/graphql/search_response.json")));
+
+        // When
+        GitHubApiResponse response = gitHubClient.fetchRepositories("java", CREATED_AFTER, new PageRequest(1, 30));
+
+        // Then
+        assertThat(response.totalCount()).isEqualTo(42);
+        assertThat(response.repositories()).hasSize(2);
+        GitHubApiRepo first = response.repositories().getFirst();
+        assertThat(first.name()).isEqualTo("sample-repo-1");
+        assertThat(first.owner().login()).isEqualTo("owner1");
+        assertThat(first.stars()).isEqualTo(100);
+        assertThat(first.forks()).isEqualTo(20);
+        assertThat(first.updatedAt()).isNotNull();
+
+        wireMock.verify(0, getRequestedFor(urlPathEqualTo("/search/repositories")));
+    }
+
+    @Test
+    void walksCursorsOnce_whenJumpingToLaterPage() {
+        // Given
+        wireMock.stubFor(post(urlPathEqualTo("/graphql"))
+                .withRequestBody(containing("hasNextPage"))
+                .willReturn(okJson("""
+                        {"data": {"search": {"pageInfo": {"endCursor": "Y3Vyc29yOjYw", "hasNextPage": true}}}}
+                        """)));
+        wireMock.stubFor(post(urlPathEqualTo("/graphql"))
+                .withRequestBody(containing("stargazerCount"))
+                .withRequestBody(matchingJsonPath("$.variables.after", equalTo("Y3Vyc29yOjYw")))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBodyFile("github/graphql/search_response.json")));
+
+        // When
+        GitHubApiResponse first = gitHubClient.fetchRepositories("java", CREATED_AFTER, new PageRequest(3, 30));
+        GitHubApiResponse second = gitHubClient.fetchRepositories("java", CREATED_AFTER, new PageRequest(3, 30));
+
+        // Then
+        assertThat(first.repositories()).hasSize(2);
+        assertThat(second.repositories()).hasSize(2);
+        wireMock.verify(1, postRequestedFor(urlPathEqualTo("/graphql"))
+                .withRequestBody(containing("hasNextPage"))
+                .withRequestBody(matchingJsonPath("$.variables.first", equalTo("60"))));
+    }
+
+    @Test
+    void throwsException_whenQueryIsRateLimited() {
+        // Given
+        wireMock.stubFor(post(urlPathEqualTo("/graphql"))
+                .willReturn(okJson("""
+                        {"errors": [{"type": "RATE_LIMITED", "message": "API rate limit exceeded"}]}
+                        """)));
+
+        // When
+        GitHubApiException exception = assertThrows(GitHubApiException.class,
+                () -> gitHubClient.fetchRepositories("java", CREATED_AFTER, new PageRequest(1, 30)));
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
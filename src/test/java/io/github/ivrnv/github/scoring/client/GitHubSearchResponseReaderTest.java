@@ -0,0 +1,92 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GitHubSearchResponseReaderTest {
+
+    private final GitHubSearchResponseReader reader = new GitHubSearchResponseReader();
+
+    @Test
+    void readsRequiredFields_fromSearchResponse() throws IOException {
+        // Given
+        try (InputStream body = getClass().getResourceAsStream("/__files/github/successful_response.json")) {
+
+            // When
+            GitHubApiResponse response = reader.read(body);
+
+            // Then
+            assertThat(response.totalCount()).isEqualTo(2);
+            assertThat(response.incompleteResults()).isFalse();
+            assertThat(response.repositories()).hasSize(2);
+
+            GitHubApiRepo first = response.repositories().getFirst();
+            assertThat(first.name()).isEqualTo("sample-repo-1");
+            assertThat(first.url()).isEqualTo("https://github.com/octocat/sample-repo-1");
+            assertThat(first.owner().login()).isEqualTo("octocat");
+            assertThat(first.owner().url()).isEqualTo("https://github.com/octocat");
+            assertThat(first.stars()).isEqualTo(100);
+            assertThat(first.forks()).isEqualTo(20);
+            assertThat(first.updatedAt()).isEqualTo(OffsetDateTime.parse("2023-06-15T10:20:30Z"));
+            assertThat(first.createdAt()).isEqualTo(OffsetDateTime.parse("2023-01-10T12:00:00Z"));
+        }
+    }
+
+    @Test
+    void skipsUnknownNestedFields() throws IOException {
+        // Given
+        String json = """
+                {
+                  "total_count": 1,
+                  "items": [
+                    {
+                      "license": {"key": "mit", "name": "MIT License", "nested": {"deep": [1, 2, {"name": "x"}]}},
+                      "topics": ["java", "name"],
+                      "name": "real-name",
+                      "owner": {"login": "octocat", "type": "User", "permissions": {"admin": true}},
+                      "stargazers_count": 7,
+                      "forks_count": 3,
+                      "updated_at": null
+                    }
+                  ],
+                  "incomplete_results": true
+                }
+                """;
+
+        // When
+        GitHubApiResponse response = read(json);
+
+        // Then
+        assertThat(response.incompleteResults()).isTrue();
+        GitHubApiRepo repo = response.repositories().getFirst();
+        assertThat(repo.name()).isEqualTo("real-name");
+        assertThat(repo.owner().login()).isEqualTo("octocat");
+        assertThat(repo.stars()).isEqualTo(7);
+        assertThat(repo.forks()).isEqualTo(3);
+        assertThat(repo.updatedAt()).isNull();
+    }
+
+    @Test
+    void returnsEmptyList_whenItemsAreMissing() throws IOException {
+        GitHubApiResponse response = read("{\"total_count\": 0}");
+
+        assertThat(response.repositories()).isEmpty();
+    }
+
+    @Test
+    void throwsException_whenBodyIsNotAnObject() {
+        assertThrows(IOException.class, () -> read("[]"));
+    }
+
+    private GitHubApiResponse read(String json) throws IOException {
+        return reader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
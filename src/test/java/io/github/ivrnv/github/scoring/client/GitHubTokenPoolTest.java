@@ -0,0 +1,94 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubTokenPoolTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void usesAnonymousCredential_whenNoTokensConfigured() {
+        GitHubTokenPool pool = new GitHubTokenPool(List.of(" ", ""));
+
+        GitHubTokenPool.PooledToken token = pool.select(NOW);
+
+        assertThat(token.isAnonymous()).isTrue();
+        assertThat(pool.tokens()).hasSize(1);
+    }
+
+    @Test
+    void selectsTokenWithMostRemainingBudget() {
+        // Given
+        GitHubTokenPool pool = new GitHubTokenPool(List.of("first", "second"));
+        updateBudget(pool.tokens().get(0), 200, 5, NOW + 30_000);
+        updateBudget(pool.tokens().get(1), 200, 20, NOW + 30_000);
+
+        // When
+        GitHubTokenPool.PooledToken token = pool.select(NOW);
+
+        // Then
+        assertThat(token.label()).isEqualTo("token-2");
+        assertThat(token.secret()).isEqualTo("second");
+    }
+
+    @Test
+    void quarantinesExhaustedToken_untilReset() {
+        // Given
+        GitHubTokenPool pool = new GitHubTokenPool(List.of("first", "second"));
+        updateBudget(pool.tokens().get(0), 200, 0, NOW + 30_000);
+        updateBudget(pool.tokens().get(1), 200, 1, NOW + 30_000);
+
+        // When & Then
+        assertThat(pool.select(NOW).label()).isEqualTo("token-2");
+        assertThat(GitHubTokenPool.availableAt(pool.tokens().get(0).budget().snapshot(), NOW))
+                .isEqualTo(NOW + 30_000);
+    }
+
+    @Test
+    void selectsTokenAvailableFirst_whenAllAreQuarantined() {
+        // Given
+        GitHubTokenPool pool = new GitHubTokenPool(List.of("first", "second"));
+        updateBudget(pool.tokens().get(0), 403, 0, NOW + 50_000);
+        updateBudget(pool.tokens().get(1), 403, 0, NOW + 20_000);
+
+        // When & Then
+        assertThat(pool.select(NOW).label()).isEqualTo("token-2");
+    }
+
+    @Test
+    void selectsTokenFreeNow_overFullerTokenMidInterval() {
+        // Given
+        GitHubTokenPool pool = new GitHubTokenPool(List.of("first", "second"));
+        updateBudget(pool.tokens().get(0), 200, 20, NOW + 30_000);
+        updateBudget(pool.tokens().get(1), 200, 5, NOW + 30_000);
+        // Takes the first slot of the fuller token; its next one is 1.5 seconds away
+        pool.tokens().get(0).budget().reserve(NOW, 0);
+
+        // When
+        GitHubTokenPool.PooledToken token = pool.select(NOW);
+
+        // Then
+        assertThat(token.label()).isEqualTo("token-2");
+        assertThat(GitHubTokenPool.sendAt(pool.tokens().get(0).budget().snapshot(), NOW)).isEqualTo(NOW + 1_500);
+    }
+
+    @Test
+    void hidesSecret_inToString() {
+        GitHubTokenPool pool = new GitHubTokenPool(List.of("ghp_secret"));
+
+        assertThat(pool.tokens().getFirst().toString()).doesNotContain("ghp_secret");
+    }
+
+    private static void updateBudget(GitHubTokenPool.PooledToken token, int status, int remaining, long resetAtMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.LIMIT_HEADER, "30");
+        headers.set(RateLimitBudget.REMAINING_HEADER, String.valueOf(remaining));
+        headers.set(RateLimitBudget.RESET_HEADER, String.valueOf(resetAtMillis / 1000));
+        token.budget().update(status, headers, NOW);
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.ivrnv.github.scoring.client;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.metrics.RequestMetrics;
+import io.github.ivrnv.github.scoring.service.PageRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GitHubTrafficTest {
+
+    // Nothing listens here; replaying clients must never call it
+    private static final String UNREACHABLE_URL = "http://localhost:1";
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @TempDir
+    Path directory;
+
+    private static GitHubClient client(String baseUrl, GitHubTraffic traffic) {
+        return new GitHubClient(baseUrl, new HttpComponentsClientHttpRequestFactory(), 4, "rest",
+                new ConditionalResponseStore(100),
+                new RateLimitGovernor(new GitHubTokenPool(List.of()), 1000),
+                new GitHubCircuitBreaker(20, 10, 50, 5000, 80, 30000, 3),
+                new RequestHedger(false, 0.95, 100, 2000, 0.1),
+                traffic, RequestMetrics.unbound());
+    }
+
+    @Test
+    void replaysRecordedExchanges_withoutCallingGitHub() throws Exception {
+        // Given
+        String file = directory.resolve("traffic.log").toString();
+        LocalDate createdAfter = LocalDate.of(2023, 1, 1);
+        PageRequest pageable = new PageRequest(1, 30);
+        wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withHeader("X-RateLimit-Remaining", "29")
+                        .withBodyFile("github/successful_response.json")));
+
+        GitHubApiResponse recorded;
+        try (GitHubTraffic recording = new GitHubTraffic("record", file, 1.0)) {
+            recorded = client(wireMock.baseUrl(), recording).fetchRepositories("java", createdAfter, pageable);
+        }
+
+        // When
+        GitHubApiResponse replayed = client(UNREACHABLE_URL, new GitHubTraffic("replay", file, 0))
+                .fetchRepositories("java", createdAfter, pageable);
+
+        // Then
+        assertThat(replayed).isEqualTo(recorded);
+        assertThat(replayed.repositories()).hasSize(2);
+        wireMock.verify(1, getRequestedFor(urlPathEqualTo("/search/repositories")));
+    }
+
+    @Test
+    void failsWithBadGateway_whenNothingWasRecordedForRequest() throws Exception {
+        // Given
+        String file = directory.resolve("traffic.log").toString();
+        new GitHubTraffic("record", file, 1.0).close();
+        GitHubClient replaying = client(UNREACHABLE_URL, new GitHubTraffic("replay", file, 0));
+
+        // When
+        GitHubApiException exception = assertThrows(GitHubApiException.class, () ->
+                replaying.fetchRepositories("java", LocalDate.of(2023, 1, 1), new PageRequest(1, 30)));
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+    }
+
+    @Test
+    void replaysExchangesRecordedAfterTornRecord() throws Exception {
+        // Given
+        Path file = directory.resolve("traffic.log");
+        LocalDate createdAfter = LocalDate.of(2023, 1, 1);
+        wireMock.stubFor(get(urlPathEqualTo("/search/repositories"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBodyFile("github/successful_response.json")));
+        try (GitHubTraffic recording = new GitHubTraffic("record", file.toString(), 1.0)) {
+            client(wireMock.baseUrl(), recording).fetchRepositories("java", createdAfter, new PageRequest(1, 30));
+        }
+        // A crash tore the last record
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (GitHubTraffic recording = new GitHubTraffic("record", file.toString(), 1.0)) {
+            client(wireMock.baseUrl(), recording).fetchRepositories("java", createdAfter, new PageRequest(2, 30));
+        }
+
+        // When
+        GitHubClient replaying = client(UNREACHABLE_URL, new GitHubTraffic("replay", file.toString(), 0));
+
+        // Then
+        assertThat(replaying.fetchRepositories("java", createdAfter, new PageRequest(2, 30)).repositories())
+                .hasSize(2);
+        GitHubApiException exception = assertThrows(GitHubApiException.class, () ->
+                replaying.fetchRepositories("java", createdAfter, new PageRequest(1, 30)));
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+    }
+
+    @Test
+    void isOff_withModeOfApplicationYml() throws Exception {
+        // Given
+        PropertySource<?> applicationYml = new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml")).get(0);
+        Object mode = applicationYml.getProperty("github.api.traffic.mode");
+
+        // When
+        GitHubTraffic traffic = new GitHubTraffic(String.valueOf(mode), null, 1.0);
+
+        // Then
+        assertThat(traffic.isActive()).isFalse();
+    }
+
+    @Test
+    void isOff_whenUnquotedOffIsReadAsFalse() {
+        assertThat(new GitHubTraffic("false", null, 1.0).isActive()).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownMode() {
+        assertThrows(IllegalArgumentException.class, () -> new GitHubTraffic("capture", null, 1.0));
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubTransportConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(GitHubTransportConfiguration.class);
+
+    @Test
+    void usesPooledHttpClient_andPublishesPoolMetrics_byDefault() {
+        contextRunner
+                .withPropertyValues("github.api.transport.max-connections=7")
+                .run(context -> {
+                    // Then
+                    assertThat(context.getBean("gitHubRequestFactory", ClientHttpRequestFactory.class))
+                            .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+                    assertThat(context.getBean(PoolingHttpClientConnectionManager.class).getMaxTotal()).isEqualTo(7);
+                    assertThat(context).doesNotHaveBean(ExecutorService.class);
+
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean("gitHubConnectionPoolMetrics", MeterBinder.class).bindTo(registry);
+                    assertThat(registry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "github")
+                            .gauge().value()).isEqualTo(7);
+                    assertThat(registry.find("httpcomponents.httpclient.pool.total.connections").gauges())
+                            .isNotEmpty();
+                });
+    }
+
+    @Test
+    void usesJdkHttp2Client_withoutPool_whenEnabled() {
+        contextRunner
+                .withPropertyValues("github.api.transport.http2=true")
+                .run(context -> {
+                    // Then
+                    assertThat(context.getBean("gitHubRequestFactory", ClientHttpRequestFactory.class))
+                            .isInstanceOf(JdkClientHttpRequestFactory.class);
+                    assertThat(context).doesNotHaveBean(PoolingHttpClientConnectionManager.class);
+                    assertThat(context).doesNotHaveBean("gitHubConnectionPoolMetrics");
+                    assertThat(context).hasSingleBean(ExecutorService.class);
+                });
+    }
+
+    @Test
+    void closesHttp2Executor_withContext() {
+        // Given
+        ExecutorService[] executor = new ExecutorService[1];
+
+        // When
+        contextRunner
+                .withPropertyValues("github.api.transport.http2=true")
+                .run(context -> executor[0] = context.getBean(ExecutorService.class));
+
+        // Then
+        assertThat(executor[0].isShutdown()).isTrue();
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitBudgetTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void doesNotDelay_whenBudgetIsUnknown() {
+        RateLimitBudget budget = new RateLimitBudget();
+
+        assertThat(budget.reserve(NOW, 1000)).isZero();
+        assertThat(budget.reserve(NOW, 1000)).isZero();
+    }
+
+    @Test
+    void spreadsRemainingCalls_untilWindowResets() {
+        // Given 10 calls left for the next 10 seconds
+        RateLimitBudget budget = new RateLimitBudget();
+        budget.update(200, rateLimitHeaders(30, 10, NOW + 10_000), NOW);
+
+        // When
+        long first = budget.reserve(NOW, 60_000);
+        long second = budget.reserve(NOW, 60_000);
+        long third = budget.reserve(NOW, 60_000);
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(1000);
+        assertThat(third).isBetween(1900L, 2100L);
+        assertThat(budget.snapshot().remaining()).isEqualTo(7);
+    }
+
+    @Test
+    void waitsForReset_whenBudgetIsExhausted() {
+        // Given
+        RateLimitBudget budget = new RateLimitBudget();
+        budget.update(200, rateLimitHeaders(30, 0, NOW + 5_000), NOW);
+
+        // When & Then
+        assertThat(budget.reserve(NOW, 60_000)).isEqualTo(5_000);
+    }
+
+    @Test
+    void doesNotCommitReservation_whenDelayExceedsMaximum() {
+        // Given
+        RateLimitBudget budget = new RateLimitBudget();
+        budget.update(200, rateLimitHeaders(30, 0, NOW + 5_000), NOW);
+
+        // When
+        long rejected = budget.reserve(NOW, 1_000);
+        long accepted = budget.reserve(NOW, 60_000);
+
+        // Then
+        assertThat(rejected).isEqualTo(5_000);
+        assertThat(accepted).isEqualTo(5_000);
+    }
+
+    @Test
+    void honoursRetryAfter_onTooManyRequests() {
+        // Given
+        RateLimitBudget budget = new RateLimitBudget();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.RETRY_AFTER_HEADER, "30");
+
+        // When
+        budget.update(429, headers, NOW);
+
+        // Then
+        assertThat(budget.snapshot().isBlocked(NOW)).isTrue();
+        assertThat(budget.reserve(NOW, 60_000)).isEqualTo(30_000);
+    }
+
+    @Test
+    void backsOff_onSecondaryRateLimit() {
+        // Given forbidden although primary budget is left
+        RateLimitBudget budget = new RateLimitBudget();
+
+        // When
+        budget.update(403, rateLimitHeaders(30, 12, NOW + 50_000), NOW);
+
+        // Then
+        assertThat(budget.snapshot().isBlocked(NOW + 59_000)).isTrue();
+        assertThat(budget.snapshot().isBlocked(NOW + 61_000)).isFalse();
+    }
+
+    private static HttpHeaders rateLimitHeaders(int limit, int remaining, long resetAtMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RateLimitBudget.LIMIT_HEADER, String.valueOf(limit));
+        headers.set(RateLimitBudget.REMAINING_HEADER, String.valueOf(remaining));
+        headers.set(RateLimitBudget.RESET_HEADER, String.valueOf(resetAtMillis / 1000));
+        return headers;
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.service.PageRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryCrawlerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 4);
+
+    @Mock
+    private GitHubClient gitHubClient;
+
+    private RepositoryCrawler sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new RepositoryCrawler(gitHubClient, 10_000, 2);
+    }
+
+    @Test
+    void splitsWindow_untilEachPartFitsIntoSearchCap_newestFirst() {
+        // Given
+        when(gitHubClient.fetchRepositories("java", FROM, TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(1500, false, List.of(repo("a"))));
+        when(gitHubClient.fetchRepositories("java", FROM, LocalDate.of(2024, 1, 2), firstPage()))
+                .thenReturn(new GitHubApiResponse(2, false, List.of(repo("a"), repo("b"))));
+        when(gitHubClient.fetchRepositories("java", LocalDate.of(2024, 1, 3), TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(1, false, List.of(repo("c"))));
+
+        // When
+        CrawlResult result = sut.crawl("java", FROM, TO);
+
+        // Then
+        assertThat(result.repositories()).extracting(GitHubApiRepo::name).containsExactly("c", "a", "b");
+        assertThat(result.totalCount()).isEqualTo(1500);
+        assertThat(result.truncated()).isFalse();
+        assertThat(result.completedFrom()).isEqualTo(FROM);
+    }
+
+    @Test
+    void fetchesRemainingPages_andSkipsDuplicates() {
+        // Given
+        List<GitHubApiRepo> firstPageRepos = IntStream.range(0, 100).mapToObj(i -> repo("r" + i)).toList();
+        when(gitHubClient.fetchRepositories("java", FROM, TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(101, false, firstPageRepos));
+        // Stars changed between calls, so the last repository of page 1 moved to page 2
+        when(gitHubClient.fetchRepositories("java", FROM, TO, new PageRequest(2, 100)))
+                .thenReturn(new GitHubApiResponse(101, false, List.of(repo("r99"), repo("r100"))));
+
+        // When
+        List<GitHubApiRepo> repositories = sut.crawl("java", FROM, TO).repositories();
+
+        // Then
+        assertThat(repositories).hasSize(101);
+        assertThat(repositories.getLast().name()).isEqualTo("r100");
+    }
+
+    @Test
+    void stopsPlanning_andReportsTruncation_whenMaxResultsReached() {
+        // Given
+        sut = new RepositoryCrawler(gitHubClient, 1, 2);
+        when(gitHubClient.fetchRepositories("java", FROM, TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(1500, false, List.of(repo("a"))));
+        when(gitHubClient.fetchRepositories("java", LocalDate.of(2024, 1, 3), TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(1, false, List.of(repo("c"))));
+
+        // When
+        CrawlResult result = sut.crawl("java", FROM, TO);
+
+        // Then
+        assertThat(result.repositories()).extracting(GitHubApiRepo::name).containsExactly("c");
+        assertThat(result.totalCount()).isEqualTo(1500);
+        assertThat(result.truncated()).isTrue();
+        assertThat(result.completedFrom()).isEqualTo(LocalDate.of(2024, 1, 3));
+        verify(gitHubClient, never()).fetchRepositories("java", FROM, LocalDate.of(2024, 1, 2), firstPage());
+    }
+
+    @Test
+    void reportsTruncation_whenSingleDayExceedsSearchCap() {
+        // Given
+        LocalDate day = LocalDate.of(2024, 1, 3);
+        when(gitHubClient.fetchRepositories("java", FROM, TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(2000, false, List.of(repo("a"))));
+        when(gitHubClient.fetchRepositories("java", day, TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(1501, false, List.of(repo("a"))));
+        when(gitHubClient.fetchRepositories("java", TO, TO, firstPage()))
+                .thenReturn(new GitHubApiResponse(1, false, List.of(repo("d"))));
+        when(gitHubClient.fetchRepositories(eq("java"), eq(day), eq(day), any()))
+                .thenReturn(new GitHubApiResponse(1500, false, List.of(repo("c"))));
+        when(gitHubClient.fetchRepositories("java", FROM, LocalDate.of(2024, 1, 2), firstPage()))
+                .thenReturn(new GitHubApiResponse(2, false, List.of(repo("a"), repo("b"))));
+
+        // When
+        CrawlResult result = sut.crawl("java", FROM, TO);
+
+        // Then
+        assertThat(result.repositories()).extracting(GitHubApiRepo::name).containsExactly("d", "c", "a", "b");
+        assertThat(result.truncated()).isTrue();
+        assertThat(result.completedFrom()).isEqualTo(TO);
+    }
+
+    private static PageRequest firstPage() {
+        return new PageRequest(1, 100);
+    }
+
+    private static GitHubApiRepo repo(String name) {
+        var owner = new GitHubApiRepo.Owner("octocat", "https://github.com/octocat");
+        return new GitHubApiRepo(name, owner, "https://github.com/octocat/" + name, 10, 1,
+                OffsetDateTime.parse("2024-02-01T00:00:00Z"), OffsetDateTime.parse("2024-01-15T00:00:00Z"));
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.ivrnv.github.scoring.client;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestHedgerTest {
+
+    @Test
+    void returnsHedgedResponse_whenOriginalCallIsSlow() {
+        // Given
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 50, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        String result = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(release);
+                return "original";
+            }
+            return "hedge";
+        });
+        release.countDown();
+
+        // Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotHedge_whenCallCompletesInTime() {
+        // Given
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 1000, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = hedger.execute(() -> {
+            attempts.incrementAndGet();
+            return "original";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("original");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotHedge_whenHedgeBudgetIsSpent() {
+        // Given
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 20, 0.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = hedger.execute(() -> {
+            attempts.incrementAndGet();
+            sleep(100);
+            return "original";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("original");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void interruptsOriginalCall_whenHedgeWins() throws InterruptedException {
+        // Given
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 50, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // When
+        String result = hedger.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "original";
+            }
+            return "hedge";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void doesNotHedge_whileCallWaitsForRateLimitSlot() {
+        // Given
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 50, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = hedger.execute(() -> {
+            attempts.incrementAndGet();
+            UpstreamTimer.pacing(200);
+            sleep(200);
+            return "original";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("original");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rethrowsFailure_whenAllAttemptsFail() {
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 20, 1.0);
+
+        GitHubApiException exception = assertThrows(GitHubApiException.class, () -> hedger.execute(() -> {
+            sleep(50);
+            throw new GitHubApiException("Server error", HttpStatus.BAD_GATEWAY);
+        }));
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
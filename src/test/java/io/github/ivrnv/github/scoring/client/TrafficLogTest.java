@@ -0,0 +1,112 @@
+package io.github.ivrnv.github.scoring.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrafficLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsAfterLastIntactRecord_whenLastRecordWasTorn() throws Exception {
+        // Given
+        Path file = directory.resolve("traffic.log");
+        try (TrafficLog log = TrafficLog.append(file)) {
+            log.write(exchange("/first"));
+            log.write(exchange("/torn"));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // When
+        try (TrafficLog log = TrafficLog.append(file)) {
+            log.write(exchange("/third"));
+        }
+
+        // Then
+        assertThat(TrafficLog.read(file)).extracting(TrafficLog.Exchange::uri).containsExactly("/first", "/third");
+    }
+
+    @Test
+    void stopsReading_atRecordWithWrongChecksum() throws Exception {
+        // Given
+        Path file = directory.resolve("traffic.log");
+        long second = writeTwoRecords(file);
+        overwriteInt(file, second + 8, 0x12345678);
+
+        // When
+        List<TrafficLog.Exchange> exchanges = TrafficLog.read(file);
+
+        // Then
+        assertThat(exchanges).extracting(TrafficLog.Exchange::uri).containsExactly("/first");
+    }
+
+    @Test
+    void stopsReading_atRecordWithImpossibleLength() throws Exception {
+        // Given
+        Path file = directory.resolve("traffic.log");
+        long second = writeTwoRecords(file);
+        overwriteInt(file, second, Integer.MAX_VALUE);
+
+        // When
+        List<TrafficLog.Exchange> exchanges = TrafficLog.read(file);
+
+        // Then
+        assertThat(exchanges).extracting(TrafficLog.Exchange::uri).containsExactly("/first");
+    }
+
+    @Test
+    void stopsReading_atRecordWithNegativeLength() throws Exception {
+        // Given
+        Path file = directory.resolve("traffic.log");
+        long second = writeTwoRecords(file);
+        overwriteInt(file, second, -1);
+
+        // When
+        List<TrafficLog.Exchange> exchanges = TrafficLog.read(file);
+
+        // Then
+        assertThat(exchanges).extracting(TrafficLog.Exchange::uri).containsExactly("/first");
+    }
+
+    /**
+     * @return the offset of the second record
+     */
+    private static long writeTwoRecords(Path file) throws Exception {
+        try (TrafficLog log = TrafficLog.append(file)) {
+            log.write(exchange("/first"));
+        }
+        long second;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            second = channel.size();
+        }
+        try (TrafficLog log = TrafficLog.append(file)) {
+            log.write(exchange("/second"));
+        }
+        return second;
+    }
+
+    private static void overwriteInt(Path file, long position, int value) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, value), position);
+        }
+    }
+
+    private static TrafficLog.Exchange exchange(String uri) {
+        return new TrafficLog.Exchange(1_000, 50, "GET", uri, false, new byte[0], 200,
+                Map.of("Content-Type", List.of("application/json")),
+                "{\"total_count\":0,\"items\":[]}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,16 @@
 package io.github.ivrnv.github.scoring.controller;
 
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.model.LanguageDistribution;
 import io.github.ivrnv.github.scoring.model.Page;
 import io.github.ivrnv.github.scoring.model.ScoredRepository;
+import io.github.ivrnv.github.scoring.service.PageRange;
 import io.github.ivrnv.github.scoring.service.RepositoryScoreService;
+import io.github.ivrnv.github.scoring.service.ScoringWeights;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,6 +20,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -66,6 +72,180 @@ class RepositoryScoreControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1));
     }
 
+    @Test
+    void returns200_andRangeData_forPagesParameter() throws Exception {
+        // Arrange
+        OffsetDateTime updateTime = OffsetDateTime.now();
+        Page<ScoredRepository> mockResponse = getScoredRepositories(updateTime);
+
+        when(repositoryScoreService.getScoredRepositoryRange(eq("java"), any(LocalDate.class), eq(new PageRange(2, 4, 2))))
+                .thenReturn(mockResponse);
+
+        // Act & Assert
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("size", "2")
+                .param("pages", "2-4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    void returns400_forInvalidPageRange() throws Exception {
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("pages", "5-2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returns400_forPageRangeSpanningTooManyPages() throws Exception {
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("pages", "1-11"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returns200_andTopScoredData_forScoreSort() throws Exception {
+        // Arrange
+        Page<ScoredRepository> mockResponse = getScoredRepositories(OffsetDateTime.now());
+
+        when(repositoryScoreService.getTopScoredRepositories(eq("java"), any(LocalDate.class), any()))
+                .thenReturn(mockResponse);
+
+        // Act & Assert
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("sort", "score"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].popularityScore").value(85.5));
+    }
+
+    @Test
+    void returns503_whenScoreRankingIsIncomplete() throws Exception {
+        // Arrange
+        when(repositoryScoreService.getTopScoredRepositories(eq("java"), any(LocalDate.class), any()))
+                .thenThrow(new GitHubApiException("Could not read all candidates", HttpStatus.SERVICE_UNAVAILABLE));
+
+        // Act & Assert
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("sort", "score"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void returns400_forPageRangeWithScoreSort() throws Exception {
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("pages", "1-2")
+                .param("sort", "score"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returns400_forScoreSortBeyondRankedResults() throws Exception {
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("sort", "score")
+                .param("page", "2147483647")
+                .param("size", "100"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(repositoryScoreService);
+    }
+
+    @Test
+    void returns200_andPassesRequestWeights_toService() throws Exception {
+        // Arrange
+        ScoringWeights weights = new ScoringWeights(1.0, 0.3, 0.2, 30);
+        when(repositoryScoreService.scoringWeights(1.0, null, null, 30L)).thenReturn(weights);
+        when(repositoryScoreService.getScoredRepositories(eq("java"), any(LocalDate.class), any(), eq(weights)))
+                .thenReturn(getScoredRepositories(OffsetDateTime.now()));
+
+        // Act & Assert
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("stars_weight", "1.0")
+                .param("max_days_for_recency", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    void returns400_forInvalidWeights() throws Exception {
+        // Arrange
+        when(repositoryScoreService.scoringWeights(0.0, 0.0, 0.0, null))
+                .thenThrow(new IllegalArgumentException("At least one weight must be greater than 0"));
+
+        // Act & Assert
+        mockMvc.perform(get(PATH)
+                .param("language", "java")
+                .param("created_after", "2023-01-01")
+                .param("stars_weight", "0")
+                .param("forks_weight", "0")
+                .param("recency_weight", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void returns200_andTruncationHeader_forCutOffCrawl() throws Exception {
+        // Arrange
+        Page<ScoredRepository> crawled = getScoredRepositories(OffsetDateTime.now());
+        when(repositoryScoreService.crawlScoredRepositories(eq("java"), any(LocalDate.class)))
+                .thenReturn(Page.of(crawled.content(), 1, 2, 25_000, 2));
+
+        // Act & Assert
+        mockMvc.perform(get(PATH + "/all")
+                .param("language", "java")
+                .param("created_after", "2023-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RepositoryScoreController.CRAWL_TRUNCATED_HEADER, "true"))
+                .andExpect(jsonPath("$.totalElements").value(25_000))
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    void returns429_whenTooManyCrawlsAreRunning() throws Exception {
+        // Arrange
+        when(repositoryScoreService.crawlScoredRepositories(eq("java"), any(LocalDate.class)))
+                .thenThrow(new GitHubApiException("Too many crawls are running", HttpStatus.TOO_MANY_REQUESTS));
+
+        // Act & Assert
+        mockMvc.perform(get(PATH + "/all")
+                .param("language", "java")
+                .param("created_after", "2023-01-01"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void returns200_andDistribution_forSeenLanguage() throws Exception {
+        // Arrange
+        var quantiles = new LanguageDistribution.Quantiles(1, 2, 3, 4, 5);
+        when(repositoryScoreService.getLanguageDistribution("java"))
+                .thenReturn(new LanguageDistribution("java", 42, quantiles, quantiles, quantiles));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/repositories/distribution").param("language", "java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.repositories").value(42))
+                .andExpect(jsonPath("$.popularityScore.p50").value(2.0));
+    }
+
+    @Test
+    void returns404_forUnseenLanguageDistribution() throws Exception {
+        mockMvc.perform(get("/api/v1/repositories/distribution").param("language", "zig"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void returns400_forMissingLanguageParameter() throws Exception {
         mockMvc.perform(get(PATH)
@@ -0,0 +1,99 @@
+package io.github.ivrnv.github.scoring.index;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+import io.github.ivrnv.github.scoring.service.PageRequest;
+import io.github.ivrnv.github.scoring.service.RepositoryQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryIndexTest {
+
+    private static final LocalDate COVERED_FROM = LocalDate.parse("2023-01-01");
+
+    private RepositoryIndex sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new RepositoryIndex();
+        sut.replace("Java", COVERED_FROM, List.of(
+                repo("old-popular", "alice", 900, "2023-02-01T10:00:00Z"),
+                repo("new-small", "bob", 10, "2024-03-01T10:00:00Z"),
+                repo("new-popular", "alice", 500, "2024-01-15T10:00:00Z"),
+                repo("new-medium", "carol", 100, "2024-01-01T00:00:00Z")));
+    }
+
+    @Test
+    void returnsRepositoriesOrderedByStars_createdOnOrAfterDate() {
+        // When
+        GitHubApiResponse response = sut.search(query("java", "2024-01-01", 1, 10));
+
+        // Then
+        assertThat(response.totalCount()).isEqualTo(3);
+        assertThat(response.repositories()).extracting(GitHubApiRepo::name)
+                .containsExactly("new-popular", "new-medium", "new-small");
+    }
+
+    @Test
+    void returnsRequestedPage() {
+        // When
+        GitHubApiResponse response = sut.search(query("java", "2023-01-01", 2, 2));
+
+        // Then
+        assertThat(response.totalCount()).isEqualTo(4);
+        assertThat(response.repositories()).extracting(GitHubApiRepo::name)
+                .containsExactly("new-medium", "new-small");
+    }
+
+    @Test
+    void returnsConsecutivePages_ofDateFilteredRepositories() {
+        // When
+        GitHubApiResponse first = sut.search(query("java", "2024-01-01", 1, 2));
+        GitHubApiResponse second = sut.search(query("java", "2024-01-01", 2, 2));
+        GitHubApiResponse beyond = sut.search(query("java", "2024-01-01", 3, 2));
+
+        // Then
+        assertThat(first.repositories()).extracting(GitHubApiRepo::name)
+                .containsExactly("new-popular", "new-medium");
+        assertThat(second.repositories()).extracting(GitHubApiRepo::name).containsExactly("new-small");
+        assertThat(second.totalCount()).isEqualTo(3);
+        assertThat(beyond.repositories()).isEmpty();
+    }
+
+    @Test
+    void restoresRepositoryFieldsFromColumns() {
+        // When
+        GitHubApiRepo repo = sut.search(query("java", "2023-01-01", 1, 1)).repositories().getFirst();
+
+        // Then
+        assertThat(repo.owner().login()).isEqualTo("alice");
+        assertThat(repo.url()).isEqualTo("https://github.com/alice/old-popular");
+        assertThat(repo.stars()).isEqualTo(900);
+        assertThat(repo.forks()).isEqualTo(90);
+        assertThat(repo.createdAt()).isEqualTo(OffsetDateTime.parse("2023-02-01T10:00:00Z"));
+        assertThat(repo.updatedAt()).isEqualTo(OffsetDateTime.parse("2024-06-01T00:00:00Z"));
+    }
+
+    @Test
+    void returnsNull_whenQueryIsNotCovered() {
+        // When / Then
+        assertThat(sut.search(query("python", "2024-01-01", 1, 10))).isNull();
+        assertThat(sut.search(query("java", "2022-12-31", 1, 10))).isNull();
+    }
+
+    private static RepositoryQuery query(String language, String createdAfter, int page, int size) {
+        return RepositoryQuery.of(language, LocalDate.parse(createdAfter), new PageRequest(page, size));
+    }
+
+    private static GitHubApiRepo repo(String name, String owner, int stars, String createdAt) {
+        return new GitHubApiRepo(name, new GitHubApiRepo.Owner(owner, "https://github.com/" + owner),
+                "https://github.com/" + owner + "/" + name, stars, stars / 10,
+                OffsetDateTime.parse("2024-06-01T00:00:00Z"), OffsetDateTime.parse(createdAt));
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.ivrnv.github.scoring.index;
+
+import io.github.ivrnv.github.scoring.client.CrawlResult;
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.client.RepositoryCrawler;
+import io.github.ivrnv.github.scoring.service.PageRequest;
+import io.github.ivrnv.github.scoring.service.RepositoryQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryIndexerTest {
+
+    private static final LocalDate CREATED_AFTER = LocalDate.parse("2023-01-01");
+
+    @Mock
+    private RepositoryCrawler repositoryCrawler;
+
+    private RepositoryIndex repositoryIndex;
+    private RepositoryIndexer sut;
+
+    @BeforeEach
+    void setUp() {
+        repositoryIndex = new RepositoryIndex();
+        sut = new RepositoryIndexer(repositoryCrawler, repositoryIndex, true, List.of("java"),
+                CREATED_AFTER.toString(), 0, 3_600_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    void servesQueriesFromIndex_whenCrawlWasComplete() {
+        // Given
+        when(repositoryCrawler.crawl("java", CREATED_AFTER))
+                .thenReturn(new CrawlResult(List.of(repo("recent", "2024-06-01T00:00:00Z")), 1, false, CREATED_AFTER));
+
+        // When
+        sut.ingest();
+
+        // Then
+        assertThat(repositoryIndex.search(query("2023-01-01"))).isNotNull();
+    }
+
+    @Test
+    void sendsQueriesBeforeCompleteRange_toGitHub_whenCrawlWasTruncated() {
+        // Given
+        LocalDate completedFrom = LocalDate.parse("2024-05-01");
+        when(repositoryCrawler.crawl("java", CREATED_AFTER)).thenReturn(new CrawlResult(
+                List.of(repo("recent", "2024-06-01T00:00:00Z")), 50_000, true, completedFrom));
+
+        // When
+        sut.ingest();
+
+        // Then
+        assertThat(repositoryIndex.search(query("2023-01-01"))).isNull();
+        assertThat(repositoryIndex.maxForks(query("2024-04-30"))).isEqualTo(-1);
+        assertThat(repositoryIndex.search(query("2024-05-01")).repositories())
+                .extracting(GitHubApiRepo::name).containsExactly("recent");
+    }
+
+    @Test
+    void keepsPreviousIndex_whenCrawlCoveredNoDateCompletely() {
+        // Given
+        when(repositoryCrawler.crawl("java", CREATED_AFTER))
+                .thenReturn(new CrawlResult(List.of(repo("old", "2023-02-01T00:00:00Z")), 1, false, CREATED_AFTER))
+                .thenReturn(new CrawlResult(List.of(repo("recent", "2024-06-01T00:00:00Z")), 50_000, true, null));
+        sut.ingest();
+
+        // When
+        sut.ingest();
+
+        // Then
+        assertThat(repositoryIndex.search(query("2023-01-01")).repositories())
+                .extracting(GitHubApiRepo::name).containsExactly("old");
+    }
+
+    private static RepositoryQuery query(String createdAfter) {
+        return RepositoryQuery.of("java", LocalDate.parse(createdAfter), new PageRequest(1, 10));
+    }
+
+    private static GitHubApiRepo repo(String name, String createdAt) {
+        var owner = new GitHubApiRepo.Owner("octocat", "https://github.com/octocat");
+        return new GitHubApiRepo(name, owner, "https://github.com/octocat/" + name, 10, 1,
+                OffsetDateTime.parse("2024-07-01T00:00:00Z"), OffsetDateTime.parse(createdAt));
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.ivrnv.github.scoring.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestMetrics sut;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        sut = new RequestMetrics(new LanguageTags(List.of(), List.of()));
+        sut.bindTo(registry);
+    }
+
+    @Test
+    void recordsFetchTimer_andErrorCounter_byLanguageAndStatus() {
+        // When
+        sut.recordFetch("Java", HttpStatus.OK, TimeUnit.MILLISECONDS.toNanos(120));
+        sut.recordFetch("java", HttpStatus.FORBIDDEN, TimeUnit.MILLISECONDS.toNanos(40));
+        sut.recordFetch("java", null, TimeUnit.MILLISECONDS.toNanos(10));
+
+        // Then
+        assertThat(registry.get("github.client.requests").tags("language", "java", "status", "200").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("github.client.errors").tags("language", "java", "status", "403").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("github.client.errors").tags("language", "java", "status", "IO_ERROR").counter()
+                .count()).isEqualTo(1);
+        assertThat(registry.find("github.client.errors").tags("status", "200").counter()).isNull();
+    }
+
+    @Test
+    void reportsLanguagesOutsideAllowList_asOther() {
+        // When
+        sut.recordScoring("java", 30, 1_000);
+        sut.recordScoring("kotlin", 30, 1_000);
+        sut.recordScoring("cobol", 30, 1_000);
+        sut.recordScoring("fortran", 30, 1_000);
+
+        // Then
+        assertThat(registry.get("github.scoring.batch").timers()).hasSize(3);
+        assertThat(registry.get("github.scoring.batch").tags("language", LanguageTags.OTHER).timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("github.scoring.batch.size").tags("language", "java").summary().totalAmount())
+                .isEqualTo(30);
+    }
+
+    @Test
+    void reportsConfiguredAndIndexedLanguages_underOwnTag() {
+        // Given
+        RequestMetrics configured = new RequestMetrics(new LanguageTags(List.of(" COBOL"), List.of("fortran")));
+        configured.bindTo(registry);
+
+        // When
+        configured.recordScoring("cobol", 30, 1_000);
+        configured.recordScoring("Fortran", 30, 1_000);
+        configured.recordScoring("pascal", 30, 1_000);
+
+        // Then
+        assertThat(registry.get("github.scoring.batch").tags("language", "cobol").timer().count()).isEqualTo(1);
+        assertThat(registry.get("github.scoring.batch").tags("language", "fortran").timer().count()).isEqualTo(1);
+        assertThat(registry.get("github.scoring.batch").tags("language", LanguageTags.OTHER).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void recordsNothing_untilBound() {
+        // Given
+        RequestMetrics unbound = RequestMetrics.unbound();
+
+        // When
+        unbound.recordPage("java", 1024, 30);
+
+        // Then
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.ivrnv.github.scoring.profiling;
+
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfilingEndpointTest {
+
+    private ProfilingEndpoint sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new ProfilingEndpoint(60_000, 16 * 1024 * 1024, "default");
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    @Test
+    void startsRecording_cappedAtMaxDuration() {
+        // When
+        WebEndpointResponse<?> response = sut.start(3_600L);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(sut.status())
+                .containsEntry("state", RecordingState.RUNNING.name())
+                .containsEntry("duration", "PT1M");
+    }
+
+    @Test
+    void returnsConflict_whenRecordingAlreadyRunning() {
+        // Given
+        sut.start(null);
+
+        // When
+        WebEndpointResponse<?> response = sut.start(10L);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+    }
+
+    @Test
+    void dumpsCustomEvents_ofRunningRecording() throws Exception {
+        // Given
+        sut.start(null);
+        ScoringEvent event = new ScoringEvent();
+        event.begin();
+        event.language = "java";
+        event.items = 30;
+        event.commit();
+
+        // When
+        WebEndpointResponse<Resource> response = sut.dump(ProfilingEndpoint.DUMP_NAME);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(response.getBody().getFile().toPath());
+        assertThat(events)
+                .filteredOn(recorded -> recorded.getEventType().getName()
+                        .equals("io.github.ivrnv.github.scoring.Scoring"))
+                .singleElement()
+                .satisfies(recorded -> {
+                    assertThat(recorded.getString("language")).isEqualTo("java");
+                    assertThat(recorded.getInt("items")).isEqualTo(30);
+                });
+    }
+
+    @Test
+    void leavesEnvironmentAndSystemProperties_outOfDump() throws Exception {
+        // Given
+        sut.start(null);
+
+        // When
+        WebEndpointResponse<Resource> response = sut.dump(ProfilingEndpoint.DUMP_NAME);
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(response.getBody().getFile().toPath());
+        assertThat(events)
+                .extracting(recorded -> recorded.getEventType().getName())
+                .doesNotContainAnyElementsOf(ProfilingEndpoint.SECRET_EVENTS);
+    }
+
+    @Test
+    void stopsRecording_andKeepsItForDump() throws Exception {
+        // Given
+        sut.start(null);
+
+        // When
+        WebEndpointResponse<?> stopped = sut.stop();
+
+        // Then
+        assertThat(stopped.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(sut.status()).containsEntry("state", RecordingState.STOPPED.name());
+        assertThat(sut.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(sut.dump(ProfilingEndpoint.DUMP_NAME).getBody().contentLength()).isPositive();
+    }
+
+    @Test
+    void returnsNotFound_whenNothingWasRecorded() throws Exception {
+        // When
+        WebEndpointResponse<Resource> response = sut.dump(ProfilingEndpoint.DUMP_NAME);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.client.RateLimitGovernor;
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    private static final LocalDate CREATED_AFTER = LocalDate.of(2024, 1, 1);
+
+    @Mock
+    private RepositoryScoreService repositoryScoreService;
+
+    @Mock
+    private RateLimitGovernor rateLimitGovernor;
+
+    @Test
+    void warmsStaticQueries_beforeLoggedOnes() {
+        // Given
+        QueryAccessLog accessLog = new QueryAccessLog("", 10, 3_600_000);
+        accessLog.record(new RepositoryQuery("go", CREATED_AFTER, 1, 30));
+        accessLog.record(new RepositoryQuery("java", CREATED_AFTER, 1, 30));
+        when(rateLimitGovernor.remainingShare()).thenReturn(1.0);
+        CacheWarmer warmer = new CacheWarmer(repositoryScoreService, accessLog, rateLimitGovernor, true,
+                List.of("Java/2024-01-01", "rust/2024-01-01/2/50"), 10, 0.5, 60_000);
+
+        // When
+        warmer.run(new DefaultApplicationArguments());
+
+        // Then
+        var inOrder = inOrder(repositoryScoreService);
+        inOrder.verify(repositoryScoreService).warm(new RepositoryQuery("java", CREATED_AFTER, 1, 30));
+        inOrder.verify(repositoryScoreService).warm(new RepositoryQuery("rust", CREATED_AFTER, 2, 50));
+        inOrder.verify(repositoryScoreService).warm(new RepositoryQuery("go", CREATED_AFTER, 1, 30));
+        verifyNoMoreInteractions(repositoryScoreService);
+    }
+
+    @Test
+    void stopsWarmUp_whenRateLimitIsExhausted() {
+        // Given
+        when(rateLimitGovernor.remainingShare()).thenReturn(1.0);
+        CacheWarmer warmer = warmer(List.of("java/2024-01-01", "go/2024-01-01"), 0.5, 60_000);
+        doThrow(new GitHubApiException("rate limit exceeded", HttpStatus.TOO_MANY_REQUESTS))
+                .when(repositoryScoreService).warm(any());
+
+        // When
+        warmer.run(new DefaultApplicationArguments());
+
+        // Then
+        verify(repositoryScoreService, times(1)).warm(any());
+    }
+
+    @Test
+    void stopsWarmUp_whenBudgetReserveIsReached() {
+        // Given
+        when(rateLimitGovernor.remainingShare()).thenReturn(1.0, 0.6, 0.4);
+        CacheWarmer warmer = warmer(List.of("java/2024-01-01", "go/2024-01-01", "rust/2024-01-01"), 0.5, 60_000);
+
+        // When
+        warmer.run(new DefaultApplicationArguments());
+
+        // Then
+        verify(repositoryScoreService).warm(new RepositoryQuery("java", CREATED_AFTER, 1, 30));
+        verify(repositoryScoreService).warm(new RepositoryQuery("go", CREATED_AFTER, 1, 30));
+        verifyNoMoreInteractions(repositoryScoreService);
+    }
+
+    @Test
+    void stopsWarmUp_whenDeadlineHasPassed() {
+        // Given
+        when(rateLimitGovernor.remainingShare()).thenReturn(1.0);
+        CacheWarmer warmer = warmer(List.of("java/2024-01-01", "go/2024-01-01"), 0.5, 10);
+        doAnswer(invocation -> {
+            Thread.sleep(50);
+            return null;
+        }).when(repositoryScoreService).warm(any());
+
+        // When
+        warmer.run(new DefaultApplicationArguments());
+
+        // Then
+        verify(repositoryScoreService, times(1)).warm(any());
+    }
+
+    @Test
+    void rejectsMalformedStaticQuery() {
+        assertThrows(IllegalArgumentException.class, () -> CacheWarmer.parse("java"));
+    }
+
+    @Test
+    void parsesStaticQuery_withDefaults() {
+        assertThat(CacheWarmer.parse(" Python/2023-06-01 "))
+                .isEqualTo(new RepositoryQuery("python", LocalDate.of(2023, 6, 1), 1, 30));
+    }
+
+    private CacheWarmer warmer(List<String> staticQueries, double budgetReserve, long deadlineMillis) {
+        return new CacheWarmer(repositoryScoreService, new QueryAccessLog("", 10, 3_600_000), rateLimitGovernor,
+                true, staticQueries, 10, budgetReserve, deadlineMillis);
+    }
+}
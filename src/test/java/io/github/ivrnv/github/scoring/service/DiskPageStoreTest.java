@@ -0,0 +1,99 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskPageStoreTest {
+
+    private static final RepositoryQuery FIRST_PAGE =
+            new RepositoryQuery("java", LocalDate.of(2023, 1, 1), 1, 30);
+    private static final RepositoryQuery SECOND_PAGE =
+            new RepositoryQuery("java", LocalDate.of(2023, 1, 1), 2, 30);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void servesStoredPage_afterReopening() throws IOException {
+        // Given
+        GitHubApiResponse response = response(42, "repo1");
+        try (DiskPageStore store = open(1 << 20, 60_000)) {
+            store.put(FIRST_PAGE, response);
+        }
+
+        // When
+        DiskPageStore.StoredPage stored;
+        try (DiskPageStore store = open(1 << 20, 60_000)) {
+            stored = store.get(FIRST_PAGE);
+        }
+
+        // Then
+        assertThat(stored).isNotNull();
+        assertThat(stored.response()).isEqualTo(response);
+    }
+
+    @Test
+    void dropsTornRecord_andKeepsEarlierOnes() throws IOException {
+        // Given
+        try (DiskPageStore store = open(1 << 20, 60_000)) {
+            store.put(FIRST_PAGE, response(42, "repo1"));
+            store.put(SECOND_PAGE, response(42, "repo2"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("pages.db").toFile(), "rw")) {
+            file.seek(8);
+            int firstLength = file.readInt();
+            long secondPayload = 8 + 8 + firstLength + 8;
+            file.seek(secondPayload + 20);
+            file.writeByte(file.readByte() ^ 0xFF);
+        }
+
+        // When & Then
+        try (DiskPageStore store = open(1 << 20, 60_000)) {
+            assertThat(store.get(FIRST_PAGE)).isNotNull();
+            assertThat(store.get(SECOND_PAGE)).isNull();
+        }
+    }
+
+    @Test
+    void compactsLog_whenBudgetIsReached() throws IOException {
+        try (DiskPageStore store = open(4096, 60_000)) {
+            for (int i = 0; i < 100; i++) {
+                store.put(FIRST_PAGE, response(i, "repo" + i));
+            }
+
+            assertThat(store.get(FIRST_PAGE).response().totalCount()).isEqualTo(99);
+        }
+    }
+
+    @Test
+    void ignoresPage_olderThanMaxAge() throws IOException {
+        try (DiskPageStore store = open(1 << 20, 0)) {
+            store.put(FIRST_PAGE, response(42, "repo1"));
+
+            assertThat(store.get(FIRST_PAGE)).isNull();
+        }
+    }
+
+    private DiskPageStore open(long maxSize, long maxAgeMillis) {
+        return new DiskPageStore(true, directory.toString(), maxSize, maxAgeMillis);
+    }
+
+    private static GitHubApiResponse response(long totalCount, String name) {
+        GitHubApiRepo repo = new GitHubApiRepo(name,
+                new GitHubApiRepo.Owner("owner", "https://github.com/owner"),
+                "https://github.com/owner/" + name, 100, 20,
+                OffsetDateTime.parse("2024-03-15T10:00:00Z"), OffsetDateTime.parse("2023-02-01T09:00:00Z"));
+        return new GitHubApiResponse(totalCount, false, List.of(repo));
+    }
+}
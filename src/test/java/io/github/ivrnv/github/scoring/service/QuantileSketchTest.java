@@ -0,0 +1,57 @@
+package io.github.ivrnv.github.scoring.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    @Test
+    void estimatesQuantiles_withinRelativeAccuracy() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch();
+        for (int value = 1; value <= 10_000; value++) {
+            sketch.add(value);
+        }
+
+        // When / Then
+        assertThat(sketch.quantile(0.5)).isCloseTo(5000, within(5000 * QuantileSketch.RELATIVE_ACCURACY));
+        assertThat(sketch.quantile(0.99)).isCloseTo(9900, within(9900 * QuantileSketch.RELATIVE_ACCURACY));
+        assertThat(sketch.rank(2500)).isCloseTo(0.25, within(0.02));
+    }
+
+    @Test
+    void keepsBucketCountBounded_forWideValueRange() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch();
+
+        // When
+        for (double value = 1e-3; value < 1e12; value *= 1.01) {
+            sketch.add(value);
+        }
+
+        // Then
+        assertThat(sketch.quantile(1)).isCloseTo(1e12, within(1e12 * 2 * QuantileSketch.RELATIVE_ACCURACY));
+        assertThat(sketch.rank(1e-3)).isLessThan(0.5);
+    }
+
+    @Test
+    void mergesCountsOfAnotherSketch() {
+        // Given
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        for (int value = 1; value <= 100; value++) {
+            low.add(0);
+            high.add(1000);
+        }
+
+        // When
+        low.merge(high);
+
+        // Then
+        assertThat(low.count()).isEqualTo(200);
+        assertThat(low.quantile(0.25)).isZero();
+        assertThat(low.quantile(0.75)).isCloseTo(1000, within(1000 * QuantileSketch.RELATIVE_ACCURACY));
+    }
+}
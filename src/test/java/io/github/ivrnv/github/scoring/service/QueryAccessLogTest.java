@@ -0,0 +1,100 @@
+package io.github.ivrnv.github.scoring.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryAccessLogTest {
+
+    private static final LocalDate CREATED_AFTER = LocalDate.of(2024, 1, 1);
+    private static final RepositoryQuery JAVA = new RepositoryQuery("java", CREATED_AFTER, 1, 30);
+    private static final RepositoryQuery GO = new RepositoryQuery("go", CREATED_AFTER, 1, 30);
+    private static final RepositoryQuery RUST = new RepositoryQuery("rust", CREATED_AFTER, 2, 50);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void returnsMostFrequentQueriesFirst() {
+        // Given
+        QueryAccessLog accessLog = new QueryAccessLog("", 10, 3_600_000);
+        record(accessLog, GO, 2);
+        record(accessLog, JAVA, 5);
+        record(accessLog, RUST, 1);
+
+        // When & Then
+        assertThat(accessLog.topQueries(2)).containsExactly(JAVA, GO);
+    }
+
+    @Test
+    void restoresCounts_fromPersistedLog() {
+        // Given
+        String file = directory.resolve("access-log.txt").toString();
+        QueryAccessLog accessLog = new QueryAccessLog(file, 10, 3_600_000);
+        record(accessLog, RUST, 3);
+        record(accessLog, JAVA, 1);
+        accessLog.close();
+
+        // When
+        QueryAccessLog restored = new QueryAccessLog(file, 10, 3_600_000);
+
+        // Then
+        assertThat(restored.topQueries(10)).containsExactly(RUST, JAVA);
+    }
+
+    @Test
+    void restoresLanguageWithSpaces_fromPersistedLog() {
+        // Given
+        String file = directory.resolve("access-log.txt").toString();
+        RepositoryQuery notebook = new RepositoryQuery("jupyter notebook", CREATED_AFTER, 1, 30);
+        QueryAccessLog accessLog = new QueryAccessLog(file, 10, 3_600_000);
+        record(accessLog, notebook, 2);
+        record(accessLog, JAVA, 1);
+        accessLog.close();
+
+        // When
+        QueryAccessLog restored = new QueryAccessLog(file, 10, 3_600_000);
+
+        // Then
+        assertThat(restored.topQueries(10)).containsExactly(notebook, JAVA);
+    }
+
+    @Test
+    void keepsOnlyMostFrequentQueries_whenTrimmed() {
+        // Given
+        QueryAccessLog accessLog = new QueryAccessLog("", 2, 3_600_000);
+        record(accessLog, JAVA, 3);
+        record(accessLog, GO, 2);
+        record(accessLog, RUST, 1);
+
+        // When
+        accessLog.flush();
+
+        // Then
+        assertThat(accessLog.topQueries(10)).containsExactly(JAVA, GO);
+    }
+
+    @Test
+    void halvesCounts_afterHalfLife() {
+        // Given
+        QueryAccessLog accessLog = new QueryAccessLog("", 10, 0);
+        record(accessLog, JAVA, 4);
+        record(accessLog, GO, 1);
+
+        // When
+        accessLog.flush();
+
+        // Then
+        assertThat(accessLog.topQueries(10)).containsExactly(JAVA);
+    }
+
+    private static void record(QueryAccessLog accessLog, RepositoryQuery query, int times) {
+        for (int i = 0; i < times; i++) {
+            accessLog.record(query);
+        }
+    }
+}
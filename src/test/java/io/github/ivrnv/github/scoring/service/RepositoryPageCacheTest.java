@@ -0,0 +1,136 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryPageCacheTest {
+
+    private static final RepositoryQuery QUERY = new RepositoryQuery("java", LocalDate.of(2023, 1, 1), 1, 30);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void servesDiskPage_andRevalidatesItInBackground() throws Exception {
+        try (DiskPageStore diskPageStore = new DiskPageStore(true, directory.toString(), 1 << 20, 60_000)) {
+            // Given
+            diskPageStore.put(QUERY, new GitHubApiResponse(1, false, List.of()));
+            Thread.sleep(5);
+            RepositoryPageCache pageCache = new RepositoryPageCache(1_000_000, 1, 1, 60_000, 5, 0.8, 1, 16,
+                    diskPageStore);
+            CountDownLatch revalidated = new CountDownLatch(1);
+
+            // When
+            GitHubApiResponse served = pageCache.get(QUERY, query -> {
+                revalidated.countDown();
+                return new GitHubApiResponse(2, false, List.of());
+            });
+
+            // Then
+            assertThat(served.totalCount()).isEqualTo(1);
+            assertThat(revalidated.await(5, TimeUnit.SECONDS)).isTrue();
+            awaitDiskPage(diskPageStore, 2);
+        }
+    }
+
+    @Test
+    void storesLoadedPage_onDisk() throws IOException {
+        try (DiskPageStore diskPageStore = new DiskPageStore(true, directory.toString(), 1 << 20, 60_000)) {
+            RepositoryPageCache pageCache = new RepositoryPageCache(1_000_000, 60_000, 60_000, 60_000, 5, 0.8, 1, 16,
+                    diskPageStore);
+
+            pageCache.get(QUERY, query -> new GitHubApiResponse(7, false, List.of()));
+
+            assertThat(diskPageStore.get(QUERY).response().totalCount()).isEqualTo(7);
+        }
+    }
+
+    @Test
+    void servesStalePage_whileRefreshingIt() throws Exception {
+        // Given
+        RepositoryPageCache pageCache = new RepositoryPageCache(1_000_000, 1, 1, 60_000, 5, 0.8, 1, 16,
+                DiskPageStore.disabled());
+        AtomicInteger loads = new AtomicInteger();
+        Function<RepositoryQuery, GitHubApiResponse> loader =
+                query -> new GitHubApiResponse(loads.incrementAndGet(), false, List.of());
+        pageCache.get(QUERY, loader);
+        Thread.sleep(5);
+
+        // When
+        GitHubApiResponse stale = pageCache.get(QUERY, loader);
+
+        // Then
+        assertThat(stale.totalCount()).isEqualTo(1);
+        awaitLoads(loads, 2);
+        pageCache.close();
+    }
+
+    @Test
+    void refreshesOnlyHotPages_aheadOfExpiry() throws Exception {
+        // Given
+        RepositoryPageCache pageCache = new RepositoryPageCache(1_000_000, 60_000, 60_000, 60_000, 3, 0.0, 1, 16,
+                DiskPageStore.disabled());
+        RepositoryQuery coldQuery = new RepositoryQuery("go", LocalDate.of(2023, 1, 1), 1, 30);
+        AtomicInteger hotLoads = new AtomicInteger();
+        AtomicInteger coldLoads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            pageCache.get(QUERY, query -> new GitHubApiResponse(hotLoads.incrementAndGet(), false, List.of()));
+        }
+        pageCache.get(coldQuery, query -> new GitHubApiResponse(coldLoads.incrementAndGet(), false, List.of()));
+
+        // When
+        pageCache.refreshHotPages();
+
+        // Then
+        awaitLoads(hotLoads, 2);
+        assertThat(coldLoads.get()).isEqualTo(1);
+        pageCache.close();
+    }
+
+    @Test
+    void cachesMaxForks_perLanguageAndDate() {
+        // Given
+        RepositoryPageCache pageCache = new RepositoryPageCache(1_000_000, 60_000, 60_000, 60_000, 5, 0.8, 1, 16,
+                DiskPageStore.disabled());
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        int first = pageCache.maxForks(QUERY, query -> 100 + loads.incrementAndGet());
+        int otherPage = pageCache.maxForks(new RepositoryQuery("java", LocalDate.of(2023, 1, 1), 3, 50),
+                query -> 100 + loads.incrementAndGet());
+        int otherDate = pageCache.maxForks(new RepositoryQuery("java", LocalDate.of(2024, 1, 1), 1, 30),
+                query -> 100 + loads.incrementAndGet());
+
+        // Then
+        assertThat(first).isEqualTo(101);
+        assertThat(otherPage).isEqualTo(101);
+        assertThat(otherDate).isEqualTo(102);
+        assertThat(loads).hasValue(2);
+    }
+
+    private static void awaitLoads(AtomicInteger loads, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && loads.get() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(loads.get()).isEqualTo(expected);
+    }
+
+    private static void awaitDiskPage(DiskPageStore diskPageStore, long totalCount) throws InterruptedException {
+        for (int i = 0; i < 100 && diskPageStore.get(QUERY).response().totalCount() != totalCount; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(diskPageStore.get(QUERY).response().totalCount()).isEqualTo(totalCount);
+    }
+}
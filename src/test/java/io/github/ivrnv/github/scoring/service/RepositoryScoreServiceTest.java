@@ -1,8 +1,14 @@
 package io.github.ivrnv.github.scoring.service;
 
+import io.github.ivrnv.github.scoring.client.CrawlResult;
 import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
 import io.github.ivrnv.github.scoring.client.GitHubApiResponse;
 import io.github.ivrnv.github.scoring.client.GitHubClient;
+import io.github.ivrnv.github.scoring.client.RepositoryCrawler;
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import io.github.ivrnv.github.scoring.index.RepositoryIndex;
+import io.github.ivrnv.github.scoring.metrics.LanguageTags;
+import io.github.ivrnv.github.scoring.metrics.RequestMetrics;
 import io.github.ivrnv.github.scoring.model.Page;
 import io.github.ivrnv.github.scoring.model.ScoredRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +16,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,12 +38,23 @@ class RepositoryScoreServiceTest {
     @Mock
     private GitHubClient gitHubClient;
 
+    @Mock
+    private RepositoryCrawler repositoryCrawler;
+
+    private RepositoryIndex repositoryIndex;
+
     private RepositoryScoreService sut;
 
     @BeforeEach
     void setUp() {
-        ScoreCalculator scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365);
-        sut = new RepositoryScoreService(gitHubClient, scoreCalculator);
+        ScoreCalculator scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365, Clock.systemUTC());
+        RepositoryPageCache pageCache = new RepositoryPageCache(1_000_000, 60_000, 10_000, 60_000, 5, 0.8, 1, 16,
+                DiskPageStore.disabled());
+        repositoryIndex = new RepositoryIndex();
+        sut = new RepositoryScoreService(gitHubClient, repositoryCrawler, scoreCalculator, pageCache,
+                new QueryAccessLog("", 100, 3_600_000), repositoryIndex,
+                new ScoreDistributions(scoreCalculator, new LanguageTags(List.of("zig"), List.of()), 1, 3_600_000),
+                RequestMetrics.unbound(), 16, 1000, 60_000, 1);
     }
 
     @Test
@@ -112,6 +136,351 @@ class RepositoryScoreServiceTest {
         assertThat(result.totalElements()).isZero();
     }
     
+    @Test
+    void servesRepeatedQueryFromCache() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        var pageable = new PageRequest(1, 30);
+        GitHubApiRepo repo = createGitHubApiRepo("repo1", "owner1", "https://github.com/owner1/repo1",
+                500, 50, OffsetDateTime.now().minusDays(5));
+
+        when(gitHubClient.fetchRepositories("java", createdAfter, pageable))
+            .thenReturn(new GitHubApiResponse(1, false, List.of(repo)));
+
+        // When
+        Page<ScoredRepository> first = sut.getScoredRepositories("java", createdAfter, pageable);
+        Page<ScoredRepository> second = sut.getScoredRepositories(" Java ", createdAfter, pageable);
+
+        // Then
+        assertThat(second.content()).isEqualTo(first.content());
+        verify(gitHubClient, times(1)).fetchRepositories("java", createdAfter, pageable);
+    }
+
+    @Test
+    void reranksCachedQuery_withRequestWeights_withoutFetchingAgain() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        var pageable = new PageRequest(1, 30);
+        OffsetDateTime updateTime = OffsetDateTime.now().minusDays(5);
+        GitHubApiRepo starred = createGitHubApiRepo("starred", "owner1", "https://github.com/owner1/starred",
+                5000, 10, updateTime);
+        GitHubApiRepo forked = createGitHubApiRepo("forked", "owner2", "https://github.com/owner2/forked",
+                100, 3000, updateTime);
+
+        when(gitHubClient.fetchRepositories("java", createdAfter, pageable))
+            .thenReturn(new GitHubApiResponse(2, false, List.of(starred, forked)));
+
+        // When
+        Page<ScoredRepository> configured = sut.getScoredRepositories("java", createdAfter, pageable);
+        Page<ScoredRepository> forksOnly = sut.getScoredRepositories("java", createdAfter, pageable,
+                new ScoringWeights(0, 1, 0, 365));
+
+        // Then
+        assertThat(configured.content().get(0).popularityScore())
+                .isGreaterThan(configured.content().get(1).popularityScore());
+        assertThat(forksOnly.content().get(1).popularityScore())
+                .isGreaterThan(forksOnly.content().get(0).popularityScore());
+        verify(gitHubClient, times(1)).fetchRepositories("java", createdAfter, pageable);
+    }
+
+    @Test
+    void ranksScoresWithinLanguageDistribution() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        OffsetDateTime updateTime = OffsetDateTime.now().minusDays(5);
+        GitHubApiRepo popular = createGitHubApiRepo("popular", "owner1", "https://github.com/owner1/popular",
+                5000, 500, updateTime);
+        GitHubApiRepo niche = createGitHubApiRepo("niche", "owner2", "https://github.com/owner2/niche",
+                5, 0, updateTime);
+
+        when(gitHubClient.fetchRepositories("zig", createdAfter, new PageRequest(1, 30)))
+            .thenReturn(new GitHubApiResponse(2, false, List.of(popular, niche)));
+
+        // When
+        Page<ScoredRepository> result = sut.getScoredRepositories("zig", createdAfter, new PageRequest(1, 30));
+
+        // Then
+        assertThat(result.content().get(0).percentileRank()).isEqualTo(75.0);
+        assertThat(result.content().get(1).percentileRank()).isEqualTo(25.0);
+        assertThat(sut.getLanguageDistribution("Zig").repositories()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheFailedFetch() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        var pageable = new PageRequest(1, 30);
+
+        when(gitHubClient.fetchRepositories("java", createdAfter, pageable))
+            .thenThrow(new RuntimeException("API Error"))
+            .thenReturn(new GitHubApiResponse(0, false, Collections.emptyList()));
+
+        // When
+        sut.getScoredRepositories("java", createdAfter, pageable);
+        sut.getScoredRepositories("java", createdAfter, pageable);
+
+        // Then
+        verify(gitHubClient, times(2)).fetchRepositories("java", createdAfter, pageable);
+    }
+    
+    @Test
+    void servesQueryFromIndex_withoutCallingGitHub() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        OffsetDateTime updateTime = OffsetDateTime.now().minusDays(5);
+        GitHubApiRepo repo = new GitHubApiRepo("repo1", new GitHubApiRepo.Owner("owner1", null), null,
+                500, 50, updateTime, OffsetDateTime.parse("2023-06-01T00:00:00Z"));
+        repositoryIndex.replace("java", createdAfter, List.of(repo));
+
+        // When
+        Page<ScoredRepository> result = sut.getScoredRepositories("Java", createdAfter, new PageRequest(1, 30));
+
+        // Then
+        assertThat(result.content()).extracting(ScoredRepository::url)
+                .containsExactly("https://github.com/owner1/repo1");
+        assertThat(result.totalElements()).isEqualTo(1);
+        verifyNoInteractions(gitHubClient);
+    }
+
+    @Test
+    void ranksByScore_andStopsFetching_whenRemainingCandidatesCannotWin() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        OffsetDateTime updateTime = OffsetDateTime.now();
+        List<GitHubApiRepo> candidates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Stars descend from 1000 to 10; the second repository has by far the most forks
+            candidates.add(createGitHubApiRepo("repo" + i, "owner", "https://github.com/owner/repo" + i,
+                    1000 - i * 10, i == 1 ? 5000 : 100, updateTime));
+        }
+
+        when(gitHubClient.fetchRepositories("java", createdAfter, new PageRequest(1, 100)))
+            .thenReturn(new GitHubApiResponse(5000, false, candidates));
+        when(gitHubClient.fetchMaxForks("java", createdAfter)).thenReturn(5000);
+
+        // When
+        Page<ScoredRepository> result = sut.getTopScoredRepositories("java", createdAfter, new PageRequest(1, 2));
+
+        // Then
+        assertThat(result.content()).extracting(ScoredRepository::name).containsExactly("repo1", "repo0");
+        assertThat(result.totalElements()).isEqualTo(5000);
+        verify(gitHubClient, never()).fetchRepositories("java", createdAfter, new PageRequest(2, 100));
+    }
+
+    @Test
+    void fetchesMaxForksOnce_forRepeatedScoreRanking() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        OffsetDateTime updateTime = OffsetDateTime.now();
+        List<GitHubApiRepo> candidates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            candidates.add(createGitHubApiRepo("repo" + i, "owner", "https://github.com/owner/repo" + i,
+                    1000 - i * 10, 100, updateTime));
+        }
+
+        when(gitHubClient.fetchRepositories("java", createdAfter, new PageRequest(1, 100)))
+            .thenReturn(new GitHubApiResponse(5000, false, candidates));
+        when(gitHubClient.fetchMaxForks("java", createdAfter)).thenReturn(100);
+
+        // When
+        sut.getTopScoredRepositories("java", createdAfter, new PageRequest(1, 2));
+        sut.getTopScoredRepositories("java", createdAfter, new PageRequest(1, 2));
+
+        // Then
+        verify(gitHubClient, times(1)).fetchMaxForks("java", createdAfter);
+    }
+
+    @Test
+    void returnsEmptyPage_withoutCallingGitHub_whenScorePageIsBeyondReachableResults() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+
+        // When
+        Page<ScoredRepository> result = sut.getTopScoredRepositories("java", createdAfter,
+                new PageRequest(Integer.MAX_VALUE, 100));
+
+        // Then
+        assertThat(result.content()).isEmpty();
+        verifyNoInteractions(gitHubClient);
+    }
+
+    @Test
+    void failsRanking_whenMaxForksLookupFailsAfterFirstPage() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        OffsetDateTime updateTime = OffsetDateTime.now();
+        List<GitHubApiRepo> candidates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            candidates.add(createGitHubApiRepo("repo" + i, "owner", "https://github.com/owner/repo" + i,
+                    1000 - i * 10, 100, updateTime));
+        }
+
+        when(gitHubClient.fetchRepositories("java", createdAfter, new PageRequest(1, 100)))
+            .thenReturn(new GitHubApiResponse(5000, false, candidates));
+        when(gitHubClient.fetchMaxForks("java", createdAfter))
+            .thenThrow(new GitHubApiException("Server error", HttpStatus.BAD_GATEWAY));
+
+        // When
+        GitHubApiException exception = assertThrows(GitHubApiException.class,
+                () -> sut.getTopScoredRepositories("java", createdAfter, new PageRequest(1, 2)));
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(gitHubClient, never()).fetchRepositories("java", createdAfter, new PageRequest(2, 100));
+    }
+
+    @Test
+    void failsRanking_whenLaterCandidatePageFails() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        OffsetDateTime updateTime = OffsetDateTime.now().minusYears(2);
+        List<GitHubApiRepo> candidates = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Equal stars and stale updates keep every remaining candidate able to beat the ranking
+            candidates.add(createGitHubApiRepo("repo" + i, "owner", "https://github.com/owner/repo" + i,
+                    1000, 100, updateTime));
+        }
+
+        when(gitHubClient.fetchRepositories("java", createdAfter, new PageRequest(1, 100)))
+            .thenReturn(new GitHubApiResponse(5000, false, candidates));
+        when(gitHubClient.fetchMaxForks("java", createdAfter)).thenReturn(100);
+        when(gitHubClient.fetchRepositories("java", createdAfter, new PageRequest(2, 100)))
+            .thenThrow(new GitHubApiException("Server error", HttpStatus.BAD_GATEWAY));
+
+        // When
+        GitHubApiException exception = assertThrows(GitHubApiException.class,
+                () -> sut.getTopScoredRepositories("java", createdAfter, new PageRequest(1, 2)));
+
+        // Then
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void returnsScoredRepositoriesOfAllPages_forPageRange() {
+        // Given
+        var language = "java";
+        var createdAfter = LocalDate.parse("2023-01-01");
+        var range = new PageRange(2, 3, 1);
+
+        OffsetDateTime updateTime = OffsetDateTime.now().minusDays(5);
+        GitHubApiRepo repo1 = createGitHubApiRepo("repo1", "owner1", "https://github.com/owner1/repo1", 500, 50, updateTime);
+        GitHubApiRepo repo2 = createGitHubApiRepo("repo2", "owner2", "https://github.com/owner2/repo2", 200, 20, updateTime);
+
+        when(gitHubClient.fetchRepositoryRange(language, createdAfter, 2, 3, 1))
+                .thenReturn(new GitHubApiResponse(10, false, List.of(repo1, repo2)));
+
+        // When
+        Page<ScoredRepository> result = sut.getScoredRepositoryRange(language, createdAfter, range);
+
+        // Then
+        assertThat(result.content()).extracting(ScoredRepository::name).containsExactly("repo1", "repo2");
+        assertThat(result.pageNumber()).isEqualTo(2);
+        assertThat(result.pageSize()).isEqualTo(1);
+        assertThat(result.totalElements()).isEqualTo(10);
+    }
+
+    @Test
+    void limitsTotalPages_toReachableSearchResults() {
+        // Given
+        var language = "java";
+        var createdAfter = LocalDate.parse("2023-01-01");
+        var pageable = new PageRequest(1, 30);
+
+        when(gitHubClient.fetchRepositories(language, createdAfter, pageable))
+                .thenReturn(new GitHubApiResponse(5000, false, Collections.emptyList()));
+
+        // When
+        Page<ScoredRepository> result = sut.getScoredRepositories(language, createdAfter, pageable);
+
+        // Then
+        assertThat(result.totalElements()).isEqualTo(5000);
+        assertThat(result.totalPages()).isEqualTo(34);
+    }
+
+    @Test
+    void returnsCrawledRepositories_orderedByScore() {
+        // Given
+        var language = "java";
+        var createdAfter = LocalDate.parse("2023-01-01");
+        OffsetDateTime updateTime = OffsetDateTime.now().minusDays(5);
+
+        GitHubApiRepo small = createGitHubApiRepo("small", "owner1", "https://github.com/owner1/small", 5, 1, updateTime);
+        GitHubApiRepo large = createGitHubApiRepo("large", "owner2", "https://github.com/owner2/large", 5000, 100, updateTime);
+
+        when(repositoryCrawler.crawl(language, createdAfter))
+                .thenReturn(new CrawlResult(List.of(small, large), 2, false, createdAfter));
+
+        // When
+        Page<ScoredRepository> result = sut.crawlScoredRepositories(language, createdAfter);
+
+        // Then
+        assertThat(result.content()).extracting(ScoredRepository::name).containsExactly("large", "small");
+        assertThat(result.totalElements()).isEqualTo(2);
+        assertThat(result.totalPages()).isEqualTo(1);
+    }
+
+    @Test
+    void servesRepeatedCrawlFromCache() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        GitHubApiRepo repo = createGitHubApiRepo("repo", "owner1", "https://github.com/owner1/repo", 5, 1,
+                OffsetDateTime.now().minusDays(5));
+        when(repositoryCrawler.crawl("java", createdAfter))
+                .thenReturn(new CrawlResult(List.of(repo), 1, false, createdAfter));
+
+        // When
+        sut.crawlScoredRepositories("java", createdAfter);
+        Page<ScoredRepository> result = sut.crawlScoredRepositories("Java ", createdAfter);
+
+        // Then
+        assertThat(result.content()).hasSize(1);
+        verify(repositoryCrawler, times(1)).crawl("java", createdAfter);
+    }
+
+    @Test
+    void rejectsCrawl_whenMaxConcurrentCrawlsAreRunning() throws Exception {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repositoryCrawler.crawl("java", createdAfter)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new CrawlResult(List.of(), 0, false, createdAfter);
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> sut.crawlScoredRepositories("java", createdAfter));
+            started.await();
+
+            // When & Then
+            GitHubApiException exception = assertThrows(GitHubApiException.class,
+                    () -> sut.crawlScoredRepositories("kotlin", createdAfter));
+            assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+            release.countDown();
+        }
+        verify(repositoryCrawler, never()).crawl("kotlin", createdAfter);
+    }
+
+    @Test
+    void reportsGitHubTotal_whenCrawlWasCutOff() {
+        // Given
+        var createdAfter = LocalDate.parse("2023-01-01");
+        GitHubApiRepo repo = createGitHubApiRepo("recent", "owner1", "https://github.com/owner1/recent", 5, 1,
+                OffsetDateTime.now().minusDays(5));
+
+        when(repositoryCrawler.crawl("java", createdAfter))
+                .thenReturn(new CrawlResult(List.of(repo), 25_000, true, LocalDate.parse("2025-06-01")));
+
+        // When
+        Page<ScoredRepository> result = sut.crawlScoredRepositories("java", createdAfter);
+
+        // Then
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.totalElements()).isEqualTo(25_000);
+        assertThat(result.totalPages()).isEqualTo(1);
+    }
+
     private GitHubApiRepo createGitHubApiRepo(String name,
                                               String ownerLogin,
                                               String htmlUrl,
@@ -119,6 +488,6 @@ class RepositoryScoreServiceTest {
                                               int forks,
                                               OffsetDateTime updatedAt) {
         var owner = new GitHubApiRepo.Owner(ownerLogin, htmlUrl);
-        return new GitHubApiRepo(name, owner, htmlUrl, stars, forks, updatedAt);
+        return new GitHubApiRepo(name, owner, htmlUrl, stars, forks, updatedAt, null);
     }
 }
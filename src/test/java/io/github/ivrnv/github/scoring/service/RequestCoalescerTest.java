@@ -0,0 +1,133 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.exception.GitHubApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+
+    @Test
+    void sharesSingleCall_betweenConcurrentIdenticalRequests() throws Exception {
+        // Given
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(16, 5000);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> coalescer.execute("java", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "result";
+                })));
+            }
+            waitUntilAllJoined(coalescer);
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void runsNewCall_afterPreviousOneCompleted() {
+        RequestCoalescer<String, Integer> coalescer = new RequestCoalescer<>(16, 5000);
+        AtomicInteger calls = new AtomicInteger();
+
+        coalescer.execute("java", calls::incrementAndGet);
+        int second = coalescer.execute("java", calls::incrementAndGet);
+
+        assertThat(second).isEqualTo(2);
+    }
+
+    @Test
+    void propagatesFailure_toCaller() {
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(16, 5000);
+
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("java", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void rejectsWaiter_whenNoWaitersAllowed() throws Exception {
+        // Given
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(0, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> coalescer.execute("java", () -> {
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            started.await();
+
+            // When & Then
+            GitHubApiException exception = assertThrows(GitHubApiException.class,
+                    () -> coalescer.execute("java", () -> "other"));
+            assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+            release.countDown();
+        }
+    }
+
+    @Test
+    void timesOut_whenInFlightCallTakesTooLong() throws Exception {
+        // Given
+        RequestCoalescer<String, String> coalescer = new RequestCoalescer<>(16, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> coalescer.execute("java", () -> {
+                started.countDown();
+                await(release);
+                return "result";
+            }));
+            started.await();
+
+            // When & Then
+            GitHubApiException exception = assertThrows(GitHubApiException.class,
+                    () -> coalescer.execute("java", () -> "other"));
+            assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+            release.countDown();
+        }
+    }
+
+    private static void waitUntilAllJoined(RequestCoalescer<String, String> coalescer) throws InterruptedException {
+        // Give followers time to join the in-flight call
+        while (coalescer.inFlightCount() == 0) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
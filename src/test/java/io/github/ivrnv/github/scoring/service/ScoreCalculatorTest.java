@@ -4,9 +4,13 @@ import io.github.ivrnv.github.scoring.model.GitHubRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ScoreCalculatorTest {
 
@@ -14,7 +18,7 @@ class ScoreCalculatorTest {
 
     @BeforeEach
     void setUp() {
-        scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365);
+        scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365, Clock.systemUTC());
     }
 
     @Test
@@ -143,4 +147,115 @@ class ScoreCalculatorTest {
         // is close to 1.0 for both cases
         assertThat(Math.abs(scoreVeryRecent - scoreYesterday)).isLessThan(0.01);
     }
+
+    @Test
+    void maxScore_isNotExceededByRepositoriesWithinBounds() {
+        // Given
+        double bound = scoreCalculator.maxScore(1000, 100);
+
+        // When
+        double largest = scoreCalculator.calculateScore(1000, 100, OffsetDateTime.now());
+        double smaller = scoreCalculator.calculateScore(10, 100, OffsetDateTime.now());
+
+        // Then
+        assertThat(largest).isLessThanOrEqualTo(bound);
+        assertThat(smaller).isLessThan(bound);
+    }
+
+    @Test
+    void calculateScores_matchesSingleScores_forBatch() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        int[] stars = {0, 10, 5000};
+        int[] forks = {0, 3, 700};
+        OffsetDateTime[] updatedAt = {null, now.minusDays(30), now.minusDays(400)};
+        long[] updatedEpochSeconds = {ScoreCalculator.NO_UPDATE,
+                updatedAt[1].toEpochSecond(), updatedAt[2].toEpochSecond()};
+        double[] scores = new double[3];
+
+        // When
+        scoreCalculator.calculateScores(stars, forks, updatedEpochSeconds, scores);
+
+        // Then
+        for (int i = 0; i < scores.length; i++) {
+            assertThat(scores[i]).isEqualTo(scoreCalculator.calculateScore(stars[i], forks[i], updatedAt[i]));
+        }
+    }
+
+    @Test
+    void calculateScoresParallel_matchesSequentialScores_forLargeBatch() {
+        // Given
+        int size = 100_000;
+        long now = OffsetDateTime.now().toEpochSecond();
+        int[] stars = new int[size];
+        int[] forks = new int[size];
+        long[] updatedEpochSeconds = new long[size];
+        for (int i = 0; i < size; i++) {
+            stars[i] = i;
+            forks[i] = i / 10;
+            updatedEpochSeconds[i] = now - (i % 500) * 86_400L;
+        }
+        double[] sequential = new double[size];
+        double[] parallel = new double[size];
+
+        // When
+        scoreCalculator.calculateScores(stars, forks, updatedEpochSeconds, sequential);
+        scoreCalculator.calculateScoresParallel(stars, forks, updatedEpochSeconds, parallel);
+
+        // Then
+        assertThat(parallel).containsExactly(sequential);
+    }
+
+    @Test
+    void calculateScore_measuresRecencyAgainstInjectedClock() {
+        // Given
+        Instant now = Instant.parse("2024-06-01T12:00:00Z");
+        ScoreCalculator fixedClockCalculator = new ScoreCalculator(0, 0, 1, 365, Clock.fixed(now, ZoneOffset.UTC));
+        OffsetDateTime halfYearAgo = OffsetDateTime.ofInstant(now, ZoneOffset.UTC).minusDays(73);
+
+        // When
+        double score = fixedClockCalculator.calculateScore(0, 0, halfYearAgo);
+
+        // Then
+        assertThat(score).isEqualTo(0.8);
+    }
+
+    @Test
+    void calculateScore_matchesLogarithm_aroundLookupTableBoundary() {
+        // Given
+        long now = scoreCalculator.nowEpochSecond();
+        ScoreCalculator starsOnly = new ScoreCalculator(1, 0, 0, 365, Clock.systemUTC());
+
+        // When / Then
+        for (int stars : new int[]{0, 9, 4095, 4096, 1_000_000}) {
+            assertThat(starsOnly.calculateScore(stars, 0, ScoreCalculator.NO_UPDATE, now))
+                    .isEqualTo(Math.log10(stars + 1));
+        }
+    }
+
+    @Test
+    void kernel_scoresWithRequestWeights_andIsCompiledOnce() {
+        // Given
+        ScoringWeights starsOnly = new ScoringWeights(1, 0, 0, 365);
+        long now = scoreCalculator.nowEpochSecond();
+
+        // When
+        ScoringKernel kernel = scoreCalculator.kernel(starsOnly);
+
+        // Then
+        assertThat(kernel.score(999, 50, now, now)).isEqualTo(3.0);
+        assertThat(scoreCalculator.kernel(new ScoringWeights(1, 0, 0, 365))).isSameAs(kernel);
+        assertThat(scoreCalculator.kernel(null).score(999, 50, now, now))
+                .isEqualTo(scoreCalculator.calculateScore(999, 50, now, now));
+    }
+
+    @Test
+    void scoringWeights_rejectInvalidValues() {
+        assertThatThrownBy(() -> new ScoringWeights(-0.1, 0.3, 0.2, 365))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScoringWeights(0, 0, 0, 365))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScoringWeights(0.5, 0.3, 0.2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,148 @@
+package io.github.ivrnv.github.scoring.service;
+
+import io.github.ivrnv.github.scoring.client.GitHubApiRepo;
+import io.github.ivrnv.github.scoring.metrics.LanguageTags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScoreDistributionsTest {
+
+    private static final Instant NOW = Instant.parse("2024-07-01T00:00:00Z");
+
+    private Clock clock;
+    private ScoreDistributions sut;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        ScoreCalculator scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365, clock);
+        sut = new ScoreDistributions(scoreCalculator, new LanguageTags(List.of("zig"), List.of()), 1, 3_600_000);
+    }
+
+    @Test
+    void keepsCount_whenSamePageIsRecordedAgainWithinWindow() {
+        // Given
+        List<GitHubApiRepo> page = repositories(0, 30);
+        sut.record("Java", "page 1", page);
+
+        // When
+        sut.record("java", "page 1", page);
+
+        // Then
+        assertThat(sut.distribution("java").repositories()).isEqualTo(30);
+    }
+
+    @Test
+    void countsRepositoriesOfEveryPage() {
+        // Given
+        sut.record("java", "page 1", repositories(0, 30));
+
+        // When
+        sut.record("java", "page 2", repositories(30, 60));
+
+        // Then
+        assertThat(sut.distribution("java").repositories()).isEqualTo(60);
+    }
+
+    @Test
+    void keepsPreviousWindow_andCountsPageAgain_afterRotation() {
+        // Given
+        sut.record("java", "page 1", repositories(0, 30));
+        sut.rotate();
+
+        // When
+        sut.record("java", "page 1", repositories(0, 30));
+
+        // Then
+        assertThat(sut.distribution("java").repositories()).isEqualTo(60);
+    }
+
+    @Test
+    void dropsRepositories_afterTwoWindows() {
+        // Given
+        sut.record("java", "page 1", repositories(0, 30));
+        sut.record("kotlin", "page 1", repositories(0, 30));
+        sut.rotate();
+        sut.record("kotlin", "page 2", repositories(30, 40));
+
+        // When
+        sut.rotate();
+
+        // Then
+        assertThat(sut.distribution("java")).isNull();
+        assertThat(sut.distribution("kotlin").repositories()).isEqualTo(10);
+    }
+
+    @Test
+    void ranksScores_amongCurrentAndPreviousWindow() {
+        // Given
+        sut.record("java", "page 1", repositories(List.of(1, 2, 3, 4)));
+        sut.rotate();
+        sut.record("java", "page 2", repositories(List.of(100_000, 200_000, 300_000, 400_000)));
+        ScoreCalculator scoreCalculator = new ScoreCalculator(0.5, 0.3, 0.2, 365, clock);
+        double middle = scoreCalculator.calculateScore(1000, 0, NOW.getEpochSecond(), NOW.getEpochSecond());
+
+        // When
+        Double rank = sut.percentileRank("java", middle);
+
+        // Then
+        assertThat(rank).isEqualTo(50.0);
+    }
+
+    @Test
+    void forgetsRepositories_whenNothingWasRecordedForTwoWindows() {
+        // Given
+        sut.record("java", "page 1", repositories(0, 30));
+
+        // When
+        when(clock.instant()).thenReturn(NOW.plusSeconds(2 * 3600));
+
+        // Then
+        assertThat(sut.distribution("java")).isNull();
+        assertThat(sut.percentileRank("java", 1.0)).isNull();
+    }
+
+    @Test
+    void tracksOnlyLanguagesWithOwnTag() {
+        // Given
+        List<GitHubApiRepo> page = repositories(0, 30);
+
+        // When
+        sut.record("Zig", "page 1", page);
+        sut.record("jaav", "page 1", page);
+
+        // Then
+        assertThat(sut.distribution("zig").repositories()).isEqualTo(30);
+        assertThat(sut.distribution("jaav")).isNull();
+        assertThat(sut.percentileRank("jaav", 1.0)).isNull();
+    }
+
+    private static List<GitHubApiRepo> repositories(int from, int to) {
+        List<Integer> stars = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            stars.add(100 + i);
+        }
+        return repositories(stars);
+    }
+
+    private static List<GitHubApiRepo> repositories(List<Integer> stars) {
+        List<GitHubApiRepo> repositories = new ArrayList<>();
+        for (int i = 0; i < stars.size(); i++) {
+            String url = "https://github.com/owner" + i + "/repo" + i;
+            repositories.add(new GitHubApiRepo("repo" + i, new GitHubApiRepo.Owner("owner" + i, null), url,
+                    stars.get(i), 0, OffsetDateTime.parse("2024-07-01T00:00:00Z"), null));
+        }
+        return repositories;
+    }
+}